@@ -3,13 +3,20 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerHttpClients;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,12 +24,14 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerHttpClients httpClients) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(httpClients::requestFactory)
+                        .build(),
+                httpClients.streamRequestFactory()
         );
     }
 
@@ -37,25 +46,52 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
 
+    public ResponseEntity<Object> approveBookings(Long ownerId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", ownerId, decisions);
+    }
+
     public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getUserBookings(Long userId, String state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+            return get("?state={state}&from={from}&size={size}&after={after}", userId, parameters);
+        }
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getOwnerBookings(Long userId, String state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+            return get("/owner?state={state}&from={from}&size={size}&after={after}", userId, parameters);
+        }
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getOwnerBookingsSummary(Long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    /**
+     * Проксирование потока событий бронирований сервера.
+     */
+    public ResponseEntity<StreamingResponseBody> stream(Long userId, String lastEventId) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        if (lastEventId != null) {
+            headers.set("Last-Event-ID", lastEventId);
+        }
+        return stream("/stream", userId, MediaType.TEXT_EVENT_STREAM, headers);
+    }
+}
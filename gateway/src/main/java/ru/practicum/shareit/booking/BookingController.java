@@ -1,26 +1,47 @@
 package ru.practicum.shareit.booking;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.interfaces.Create;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
-@RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 @Validated
 public class BookingController {
     private final BookingClient client;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public BookingController(BookingClient client,
+                             Validator validator,
+                             @Value("${shareit.bookings.batch.max-size:1000}") int maxBatchSize) {
+        this.client = client;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
 
     // GET запросы
     @GetMapping
@@ -28,10 +49,11 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long userId,
             @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         BookingState.from(state).orElseThrow(() -> new ValidationException("Unknown state: " + state));
         log.info("GATEWAY: Запрос на получение списка бронирований пользователя с ID = {}.", userId);
-        return client.getUserBookings(userId, state, from, size);
+        return client.getUserBookings(userId, state, from, size, after);
     }
 
     @GetMapping("/{bookingId}")
@@ -47,10 +69,26 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long userId,
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         BookingState.from(state).orElseThrow(() -> new ValidationException("Unknown state: " + state));
         log.info("GATEWAY: Запрос на получение информации о бронированиях пользователя с ID = {}.", userId);
-        return client.getOwnerBookings(userId, state, from, size);
+        return client.getOwnerBookings(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerBookingsSummary(
+            @RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long userId) {
+        log.info("GATEWAY: Запрос на получение количества бронирований пользователя с ID = {}.", userId);
+        return client.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> subscribe(
+            @RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        log.info("GATEWAY: Запрос на подписку на события бронирований пользователя с ID = {}.", userId);
+        return client.stream(userId, lastEventId);
     }
 
     //POST запросы
@@ -71,4 +109,37 @@ public class BookingController {
                 userId);
         return client.approveBooking(userId, bookingId, approved);
     }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> approveBookings(@RequestHeader("X-Sharer-User-Id") @Positive @NotNull Long userId,
+                                                  @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("GATEWAY: Запрос на подтверждение {} бронирований пользователем с ID = {}.",
+                decisions.size(),
+                userId);
+        if (decisions.isEmpty() || decisions.size() > maxBatchSize) {
+            log.error("GATEWAY: Недопустимый размер пакета решений: {}.", decisions.size());
+            return ResponseEntity.badRequest().body(Map.of("error", "validation error",
+                    "errorMessage", "Пакет должен содержать от 1 до " + maxBatchSize + " решений."));
+        }
+        List<BookingBatchResultDto> errors = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            if (decision == null) {
+                errors.add(new BookingBatchResultDto(i, "Решение не передано."));
+                continue;
+            }
+            Set<ConstraintViolation<BookingDecisionDto>> violations = validator.validate(decision);
+            if (!violations.isEmpty()) {
+                errors.add(new BookingBatchResultDto(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+        if (!errors.isEmpty()) {
+            log.error("GATEWAY: В пакете решений пользователя с ID = {} есть ошибки: {}.", userId, errors);
+            return ResponseEntity.badRequest().body(errors);
+        }
+        return client.approveBookings(userId, decisions);
+    }
 }
\ No newline at end of file
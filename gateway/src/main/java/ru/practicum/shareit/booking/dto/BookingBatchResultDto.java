@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+/**
+ * Класс <b>BookingBatchResultDto</b> — результат проверки одного решения при пакетном подтверждении:
+ * <p><b>Index</b> — Поле номер решения в пакете, начиная с 0;</p>
+ * <p><b>Error</b> — Поле причина, по которой решение не прошло проверку.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingBatchResultDto {
+    private int index;
+    private String error;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+/**
+ * Класс <b>BookingDecisionDto</b> — решение владельца по одному бронированию при пакетном подтверждении:
+ * <p><b>BookingId</b> — Поле ID бронирования;</p>
+ * <p><b>Approved</b> — Поле true — подтвердить бронирование, false — отклонить.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingDecisionDto {
+    @NotNull
+    @Positive(message = "ID бронирования должен быть положительным.")
+    private Long bookingId;
+    @NotNull
+    private Boolean approved;
+}
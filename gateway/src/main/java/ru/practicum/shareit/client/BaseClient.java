@@ -1,18 +1,42 @@
 package ru.practicum.shareit.client;
 
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.EofSensorInputStream;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exceptions.ErrorResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    private static final String SERVER_BUSY = "Нет свободных соединений с сервером, повторите запрос позже";
+
     protected final RestTemplate rest;
+    private final ClientHttpRequestFactory streamRequestFactory;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, rest.getRequestFactory());
+    }
+
+    /**
+     * @param streamRequestFactory фабрика запросов {@link #stream} и {@link #upload}, обычно
+     *                             {@link ServerHttpClients#streamRequestFactory()}.
+     */
+    public BaseClient(RestTemplate rest, ClientHttpRequestFactory streamRequestFactory) {
         this.rest = rest;
+        this.streamRequestFactory = streamRequestFactory;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -75,6 +99,84 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * GET запрос, ответ которого передается клиенту потоком по мере получения от сервера, без буферизации
+     * в памяти шлюза. Ответ сервера с ошибкой возвращается как есть, при отсутствии свободного соединения
+     * с сервером — 503.
+     * <p>Если клиент шлюза отключился, соединение с сервером разрывается: дочитывать бесконечный ответ
+     * (события бронирований) перед возвратом соединения в пул нельзя.</p>
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, @Nullable Long userId, MediaType mediaType,
+                                                           HttpHeaders headers) throws IOException {
+        ClientHttpRequest request = streamRequestFactory
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().addAll(headers);
+        request.getHeaders().setAccept(List.of(mediaType));
+        if (userId != null) {
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        ClientHttpResponse response;
+        try {
+            response = request.execute();
+        } catch (ConnectionPoolTimeoutException e) {
+            byte[] body = ("{\"error\":\"" + SERVER_BUSY + "\"}").getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(body));
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                return ResponseEntity.status(response.getRawStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(out -> out.write(body));
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(out -> {
+                    InputStream in = response.getBody();
+                    try {
+                        byte[] buffer = new byte[4096];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                            out.flush();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (in instanceof EofSensorInputStream) {
+                            ((EofSensorInputStream) in).abortConnection();
+                        }
+                        throw e;
+                    }
+                    response.close();
+                });
+    }
+
+    /**
+     * POST запрос, тело которого передается серверу потоком из body без буферизации в памяти шлюза.
+     * Фабрика потоковых запросов не должна буферизовать тело, см. {@link ServerHttpClients#streamRequestFactory()}.
+     */
+    protected ResponseEntity<Object> upload(String path, MediaType contentType, InputStream body) throws IOException {
+        ClientHttpRequest request = streamRequestFactory
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.POST);
+        request.getHeaders().setContentType(contentType);
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (request instanceof StreamingHttpOutputMessage) {
+            ((StreamingHttpOutputMessage) request).setBody(body::transferTo);
+        } else {
+            body.transferTo(request.getBody());
+        }
+        try (ClientHttpResponse response = request.execute()) {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(StreamUtils.copyToByteArray(response.getBody()));
+        } catch (ConnectionPoolTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(SERVER_BUSY));
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
@@ -87,6 +189,11 @@ public class BaseClient {
             }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof ConnectionPoolTimeoutException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(SERVER_BUSY));
+            }
+            throw e;
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * HTTP клиенты шлюза к серверу с раздельными пулами соединений.
+ * <p>Обычные запросы используют пул <b>shareit-server.pool.*</b>, потоковые (события бронирований, экспорт
+ * и импорт пользователей) — пул <b>shareit-server.stream-pool.*</b>: потоковый ответ держит соединение
+ * минутами, и открытые потоки не должны занимать соединения обычных запросов.</p>
+ * <p>Если свободного соединения нет дольше <b>lease-timeout-ms</b>, запрос завершается
+ * {@link org.apache.http.conn.ConnectionPoolTimeoutException}, а не ждет без ограничения.</p>
+ */
+@Component
+public class ServerHttpClients implements DisposableBean {
+    private final CloseableHttpClient requestClient;
+    private final CloseableHttpClient streamClient;
+
+    public ServerHttpClients(@Value("${shareit-server.pool.max-total:200}") int maxTotal,
+                             @Value("${shareit-server.pool.max-per-route:200}") int maxPerRoute,
+                             @Value("${shareit-server.pool.lease-timeout-ms:5000}") int leaseTimeout,
+                             @Value("${shareit-server.stream-pool.max-total:1000}") int streamMaxTotal,
+                             @Value("${shareit-server.stream-pool.max-per-route:1000}") int streamMaxPerRoute,
+                             @Value("${shareit-server.stream-pool.lease-timeout-ms:1000}") int streamLeaseTimeout) {
+        this.requestClient = client(maxTotal, maxPerRoute, leaseTimeout);
+        this.streamClient = client(streamMaxTotal, streamMaxPerRoute, streamLeaseTimeout);
+    }
+
+    /**
+     * Фабрика обычных запросов: тело запроса и ответа буферизуется в памяти.
+     */
+    public HttpComponentsClientHttpRequestFactory requestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(requestClient);
+    }
+
+    /**
+     * Фабрика потоковых запросов: тело запроса передается серверу по мере записи, а не после записи целиком.
+     */
+    public HttpComponentsClientHttpRequestFactory streamRequestFactory() {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(streamClient);
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        try {
+            requestClient.close();
+        } finally {
+            streamClient.close();
+        }
+    }
+
+    private static CloseableHttpClient client(int maxTotal, int maxPerRoute, int leaseTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(leaseTimeout)
+                        .build())
+                .useSystemProperties()
+                .build();
+    }
+}
@@ -4,13 +4,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerHttpClients;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,11 +21,12 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerHttpClients httpClients) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(httpClients::requestFactory)
                         .build()
         );
     }
@@ -31,15 +35,23 @@ public class ItemClient extends BaseClient {
         return post("", ownerId, itemDto);
     }
 
+    public ResponseEntity<Object> addItems(Long ownerId, List<ItemDto> itemDtoList) {
+        return post("/batch", ownerId, itemDtoList);
+    }
+
     public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItemsForOwnerWithId(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getAllItemsForOwnerWithId(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+            return get("?from={from}&size={size}&after={after}", userId, parameters);
+        }
         return get("?from={from}&size={size}", userId, parameters);
     }
 
@@ -47,15 +59,43 @@ public class ItemClient extends BaseClient {
         return patch("/" + itemId, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> searchItemByText(String text, Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> searchItemByText(String text, Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+            return get("/search/?text={text}&from={from}&size={size}&after={after}", userId, parameters);
+        }
         return get("/search/?text={text}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> suggestItemNames(String prefix, Long userId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getComments(Long userId, Long itemId, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?after={after}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> addComment(Long ownerId, CommentDto commentDto, Long itemId) {
         return post("/" + itemId + "/comment", ownerId, commentDto);
     }
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.item;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.interfaces.Create;
 import ru.practicum.shareit.interfaces.Update;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Класс контроллер для пути "/items".
@@ -21,11 +32,23 @@ import javax.validation.constraints.PositiveOrZero;
  */
 @Slf4j
 @RestController
-@RequiredArgsConstructor
 @RequestMapping(path = "/items")
 @Validated
 public class ItemController {
     private final ItemClient client;
+    private final Validator validator;
+    private final int maxBatchSize;
+    private final int maxAvailabilityDays;
+
+    public ItemController(ItemClient client,
+                          Validator validator,
+                          @Value("${shareit.items.batch.max-size:1000}") int maxBatchSize,
+                          @Value("${shareit.items.availability.max-days:366}") int maxAvailabilityDays) {
+        this.client = client;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAvailabilityDays = maxAvailabilityDays;
+    }
 
     // GET запросы.
 
@@ -33,15 +56,17 @@ public class ItemController {
      * Метод обработки запроса на получение списка всех вещей пользователя.
      *
      * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param after  курсор страницы из заголовка "X-Next-Cursor" предыдущего ответа.
      * @return {@link ResponseEntity}
      */
     @GetMapping
     public ResponseEntity<Object> getAllItemsForOwnerWithId(
             @RequestHeader("X-Sharer-User-Id") @NonNull @Positive Long userId,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         log.info("GATEWAY: Запрос на получение списка с информацией всех вещей пользователя с ID = {}.", userId);
-        return client.getAllItemsForOwnerWithId(userId, from, size);
+        return client.getAllItemsForOwnerWithId(userId, from, size, after);
     }
 
     /**
@@ -60,7 +85,8 @@ public class ItemController {
     /**
      * Метод обработки запроса на поиск вещи.
      *
-     * @param text текс запроса поиска.
+     * @param text  текс запроса поиска.
+     * @param after курсор страницы из заголовка "X-Next-Cursor" предыдущего ответа.
      * @return {@link ResponseEntity}
      */
     @GetMapping("/search")
@@ -68,9 +94,69 @@ public class ItemController {
             @RequestHeader("X-Sharer-User-Id") @NonNull @Positive Long userId,
             @RequestParam(value = "text", defaultValue = "") String text,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         log.info("GATEWAY: Запрос на поиск вещи в имени или описании содержащей текст: {}.", text);
-        return client.searchItemByText(text, userId, from, size);
+        return client.searchItemByText(text, userId, from, size, after);
+    }
+
+    /**
+     * Метод обработки запроса на подсказки для автодополнения названия вещи.
+     *
+     * @param prefix начало названия, набранное пользователем.
+     * @return {@link ResponseEntity}
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(
+            @RequestHeader("X-Sharer-User-Id") @NonNull @Positive Long userId,
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size) {
+        log.info("GATEWAY: Запрос на подсказки для префикса: {}.", prefix);
+        return client.suggestItemNames(prefix, userId, size);
+    }
+
+    /**
+     * Метод обработки запроса на получение комментариев к вещи.
+     *
+     * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param itemId ID вещи, передается через переменную пути.
+     * @param after  курсор страницы из заголовка "X-Next-Cursor" предыдущего ответа.
+     * @return {@link ResponseEntity}
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(
+            @RequestHeader("X-Sharer-User-Id") @NonNull @Positive Long userId,
+            @PathVariable @Positive(message = "ID вещи должен быть положительным.") Long itemId,
+            @RequestParam(value = "after", required = false, defaultValue = "") String after,
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size) {
+        log.info("GATEWAY: Запрос на получение комментариев к вещи с ID = {}.", itemId);
+        return client.getComments(userId, itemId, after, size);
+    }
+
+    /**
+     * Метод обработки запроса на получение свободных для бронирования периодов вещи.
+     * <p>Длина периода ограничена свойством <b>shareit.items.availability.max-days</b>.</p>
+     *
+     * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param itemId ID вещи, передается через переменную пути.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return {@link ResponseEntity}
+     */
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") @NonNull @Positive Long userId,
+            @PathVariable @Positive(message = "ID вещи должен быть положительным.") Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания.");
+        }
+        if (from.plusDays(maxAvailabilityDays).isBefore(to)) {
+            throw new ValidationException("Период не должен быть длиннее " + maxAvailabilityDays + " дней.");
+        }
+        log.info("GATEWAY: Запрос на получение свободных периодов вещи с ID = {} с {} по {}.", itemId, from, to);
+        return client.getAvailability(userId, itemId, from, to);
     }
 
     // POST запросы
@@ -89,6 +175,46 @@ public class ItemController {
         return client.addItem(userId, itemDto);
     }
 
+    /**
+     * Метод обработки запроса на пакетное добавление вещей пользователя.
+     * <p>Каждая вещь проверяется по правилам добавления. Если хотя бы одна вещь не прошла проверку,
+     * пакет на сервер не передается, а в ответе со статусом 400 перечисляются ошибки по каждой такой вещи.</p>
+     *
+     * @param userId      ID владельца вещей, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param itemDtoList список {@link ItemDto}, передается через тело запроса.
+     * @return {@link ResponseEntity}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addItemsForUserWithId(@RequestHeader("X-Sharer-User-Id") @NonNull @Positive Long userId,
+                                                        @RequestBody List<ItemDto> itemDtoList) {
+        log.info("GATEWAY: Запрос на добавление {} вещей для пользователя с ID = {}.", itemDtoList.size(), userId);
+        if (itemDtoList.isEmpty() || itemDtoList.size() > maxBatchSize) {
+            log.error("GATEWAY: Недопустимый размер пакета вещей: {}.", itemDtoList.size());
+            return ResponseEntity.badRequest().body(Map.of("error", "validation error",
+                    "errorMessage", "Пакет должен содержать от 1 до " + maxBatchSize + " вещей."));
+        }
+        List<ItemBatchResultDto> errors = new ArrayList<>();
+        for (int i = 0; i < itemDtoList.size(); i++) {
+            ItemDto itemDto = itemDtoList.get(i);
+            if (itemDto == null) {
+                errors.add(new ItemBatchResultDto(i, "Вещь не передана."));
+                continue;
+            }
+            Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto, Create.class);
+            if (!violations.isEmpty()) {
+                errors.add(new ItemBatchResultDto(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+        if (!errors.isEmpty()) {
+            log.error("GATEWAY: В пакете вещей для пользователя с ID = {} есть ошибки: {}.", userId, errors);
+            return ResponseEntity.badRequest().body(errors);
+        }
+        return client.addItems(userId, itemDtoList);
+    }
+
     /**
      * Метод обработки запроса на добавление комментария для вещи.
      *
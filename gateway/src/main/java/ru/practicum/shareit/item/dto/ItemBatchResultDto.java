@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+/**
+ * Класс <b>ItemBatchResultDto</b> — результат проверки одной вещи при пакетном добавлении:
+ * <p><b>Index</b> — Поле номер вещи в пакете, начиная с 0;</p>
+ * <p><b>Error</b> — Поле причина, по которой вещь не прошла проверку.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemBatchResultDto {
+    private int index;
+    private String error;
+}
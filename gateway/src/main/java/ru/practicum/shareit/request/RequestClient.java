@@ -4,12 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerHttpClients;
 import ru.practicum.shareit.request.dto.RequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -17,11 +18,12 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerHttpClients httpClients) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(httpClients::requestFactory)
                         .build()
         );
     }
@@ -37,11 +39,15 @@ public class RequestClient extends BaseClient {
         return get("", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequests(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getRequests(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+            return get("/all?from={from}&size={size}&after={after}", userId, parameters);
+        }
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
@@ -47,14 +47,16 @@ public class RequestController {
      * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
      * @param from   с какой записи вывести информацию, по умолчанию с первой.
      * @param size   количество записей на странице, по умолчанию 10.
+     * @param after  курсор страницы из заголовка "X-Next-Cursor" предыдущего ответа.
      * @return {@link ResponseEntity}
      */
     @GetMapping("/all")
     public ResponseEntity<Object> getRequests(@RequestHeader("X-Sharer-User-Id") @NotNull @Positive Long userId,
                                               @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
-                                              @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
+                                              @RequestParam(required = false, defaultValue = "10") @Positive Integer size,
+                                              @RequestParam(value = "after", required = false) String after) {
         log.info("CONTROLLER: Запрос на получение информации о всех запросах.");
-        return client.getRequests(userId, from, size);
+        return client.getRequests(userId, from, size, after);
     }
 
     /**
@@ -3,12 +3,17 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerHttpClients;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 @Service
@@ -16,12 +21,14 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerHttpClients httpClients) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(httpClients::requestFactory)
+                        .build(),
+                httpClients.streamRequestFactory()
         );
     }
 
@@ -41,6 +48,14 @@ public class UserClient extends BaseClient {
         return get("?from={from}&size={size}", null, parameters);
     }
 
+    public ResponseEntity<StreamingResponseBody> export() throws IOException {
+        return stream("/export", null, MediaType.APPLICATION_NDJSON, new HttpHeaders());
+    }
+
+    public ResponseEntity<Object> importUsers(MediaType contentType, InputStream body) throws IOException {
+        return upload("/import", contentType, body);
+    }
+
     public void deleteById(Long userId) {
         delete("/" + userId, userId);
     }
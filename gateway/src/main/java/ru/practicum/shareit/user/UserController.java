@@ -2,14 +2,19 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.interfaces.Create;
 import ru.practicum.shareit.interfaces.Update;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Класс контроллер для пути "/users".
@@ -38,6 +43,17 @@ public class UserController {
         return client.getAll(from, size);
     }
 
+    /**
+     * Метод обработки запроса на выгрузку всех пользователей потоком в формате NDJSON.
+     *
+     * @return {@link ResponseEntity}
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() throws IOException {
+        log.info("GATEWAY: Запрос на выгрузку всех пользователей.");
+        return client.export();
+    }
+
     /**
      * Метод обработки запроса на получение информации о пользователе по его ID.
      *
@@ -64,6 +80,19 @@ public class UserController {
         return client.add(userDto);
     }
 
+    /**
+     * Метод обработки запроса на массовый импорт пользователей из CSV или NDJSON.
+     * <p>Тело запроса передается серверу потоком, не загружаясь в память шлюза.</p>
+     *
+     * @return {@link ResponseEntity}
+     */
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) throws IOException {
+        log.info("GATEWAY: Запрос на импорт пользователей в формате {}.", contentType);
+        return client.importUsers(contentType, body);
+    }
+
     // PATCH запросы
 
     /**
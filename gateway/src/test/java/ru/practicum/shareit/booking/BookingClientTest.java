@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.client.StubShareItServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Открытые потоки событий бронирований не занимают соединения обычных запросов к серверу.
+ */
+@SpringBootTest(properties = {
+        "shareit-server.stream-pool.max-per-route=8",
+        "shareit-server.stream-pool.lease-timeout-ms=300"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingClientTest {
+    private static final int STREAMS = 8;
+    private static final StubShareItServer SERVER = new StubShareItServer()
+            .stream("/bookings/stream", "text/event-stream", "id:1\nevent:booking\ndata:{}\n\n")
+            .json("/bookings/1", "{\"id\":1}");
+
+    private final BookingClient bookingClient;
+
+    private final List<ResponseEntity<StreamingResponseBody>> streams = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", SERVER::url);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        SERVER.releaseStreams();
+        for (ResponseEntity<StreamingResponseBody> stream : streams) {
+            stream.getBody().writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop();
+    }
+
+    @Test
+    void shouldServeRequestsWhileStreamsAreOpenTest() {
+        openStreams(STREAMS);
+
+        ResponseEntity<Object> booking = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> bookingClient.getBooking(1L, 1L));
+        assertEquals(HttpStatus.OK, booking.getStatusCode());
+    }
+
+    @Test
+    void shouldRejectStreamWhenStreamPoolIsExhaustedTest() throws IOException {
+        openStreams(STREAMS);
+
+        ResponseEntity<StreamingResponseBody> rejected = bookingClient.stream(1L, null);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+    }
+
+    @Test
+    void shouldReleaseConnectionWhenGatewayClientDisconnectsTest() throws IOException {
+        openStreams(STREAMS);
+
+        StreamingResponseBody disconnected = streams.remove(0).getBody();
+        assertThrows(IOException.class, () -> disconnected.writeTo(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        }));
+
+        openStreams(1);
+    }
+
+    private void openStreams(int count) {
+        for (int i = 0; i < count; i++) {
+            ResponseEntity<StreamingResponseBody> stream = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> bookingClient.stream(1L, null));
+            assertEquals(HttpStatus.OK, stream.getStatusCode());
+            streams.add(stream);
+        }
+    }
+}
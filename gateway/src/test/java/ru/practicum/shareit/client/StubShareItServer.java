@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заглушка сервера ShareIt для тестов клиентов шлюза. Потоковые ответы отправляют первую порцию данных
+ * и держат соединение открытым до {@link #releaseStreams()}.
+ */
+public class StubShareItServer {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private volatile CountDownLatch streamsReleased = new CountDownLatch(1);
+
+    public StubShareItServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public StubShareItServer json(String path, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        return this;
+    }
+
+    public StubShareItServer stream(String path, String contentType, String firstChunk) {
+        server.createContext(path, exchange -> {
+            CountDownLatch released = streamsReleased;
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(firstChunk.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                released.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // Клиент закрыл соединение
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Завершение открытых потоковых ответов. Следующие потоковые ответы снова держат соединение.
+     */
+    public void releaseStreams() {
+        CountDownLatch released = streamsReleased;
+        streamsReleased = new CountDownLatch(1);
+        released.countDown();
+    }
+
+    public void stop() {
+        releaseStreams();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.client.StubShareItServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Выгрузка пользователей идет через пул потоковых соединений и не занимает соединения обычных запросов.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserClientTest {
+    private static final String EXPORT_LINE = "{\"id\":1,\"name\":\"user\",\"email\":\"user@email.ru\"}\n";
+    private static final StubShareItServer SERVER = new StubShareItServer()
+            .stream("/users/export", "application/x-ndjson", EXPORT_LINE)
+            .json("/users/1", "{\"id\":1}");
+
+    private final UserClient userClient;
+
+    private final List<ResponseEntity<StreamingResponseBody>> exports = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", SERVER::url);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        SERVER.releaseStreams();
+        for (ResponseEntity<StreamingResponseBody> export : exports) {
+            export.getBody().writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop();
+    }
+
+    @Test
+    void shouldServeRequestsWhileExportsAreOpenTest() {
+        for (int i = 0; i < 8; i++) {
+            ResponseEntity<StreamingResponseBody> export = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    userClient::export);
+            assertEquals(HttpStatus.OK, export.getStatusCode());
+            exports.add(export);
+        }
+
+        ResponseEntity<Object> user = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> userClient.getById(1L));
+        assertEquals(HttpStatus.OK, user.getStatusCode());
+    }
+
+    @Test
+    void shouldStreamExportTest() throws IOException {
+        ResponseEntity<StreamingResponseBody> export = userClient.export();
+        SERVER.releaseStreams();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.getBody().writeTo(out);
+        assertEquals(EXPORT_LINE, out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -3,13 +3,21 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.events.BookingEventStream;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.interfaces.Create;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -18,18 +26,23 @@ import java.util.List;
 @Validated
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingEventStream eventStream;
 
     // GET запросы
     @GetMapping
-    public List<ResponseBookingDto> getUserBookings(
+    public ResponseEntity<List<ResponseBookingDto>> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        log.info("CONTROLLER: Запрос на получение списка бронирований пользователя с ID = {}.", userId);
+        if (after != null) {
+            return bookingService.getUserBookings(userId, state, after, size).toResponseEntity();
+        }
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        log.info("CONTROLLER: Запрос на получение списка бронирований пользователя с ID = {}.", userId);
-        return bookingService.getUserBookings(userId, state, pageRequest);
+        return ResponseEntity.ok(bookingService.getUserBookings(userId, state, pageRequest));
     }
 
     @GetMapping("/{bookingId}")
@@ -41,15 +54,33 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public List<ResponseBookingDto> getOwnerBookings(
+    public ResponseEntity<List<ResponseBookingDto>> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL", required = false) String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        log.info("CONTROLLER: Запрос на получение информации о бронированиях пользователя с ID = {}.", userId);
+        if (after != null) {
+            return bookingService.getOwnerBookings(userId, state, after, size).toResponseEntity();
+        }
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        log.info("CONTROLLER: Запрос на получение информации о бронированиях пользователя с ID = {}.", userId);
-        return bookingService.getOwnerBookings(userId, state, pageRequest);
+        return ResponseEntity.ok(bookingService.getOwnerBookings(userId, state, pageRequest));
+    }
+
+    @GetMapping("/owner/summary")
+    public Map<BookingState, Long> getOwnerBookingsSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("CONTROLLER: Запрос на получение количества бронирований пользователя с ID = {}.", userId);
+        return bookingService.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("CONTROLLER: Запрос на подписку на события бронирований пользователя с ID = {}.", userId);
+        bookingService.checkSubscriber(userId);
+        return eventStream.subscribe(userId, lastEventId);
     }
 
     //POST запросы
@@ -70,4 +101,13 @@ public class BookingController {
                 userId);
         return bookingService.approveBooking(userId, bookingId, approved);
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> approveBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("CONTROLLER: Запрос на подтверждение {} бронирований пользователем с ID = {}.",
+                decisions.size(),
+                userId);
+        return bookingService.approveBookings(userId, decisions);
+    }
+}
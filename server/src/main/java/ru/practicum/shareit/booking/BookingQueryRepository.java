@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingQueryRepository {
+    /**
+     * Страница бронирований по условию без подсчета общего количества.
+     *
+     * @param pageable страница, null — все бронирования.
+     */
+    List<Booking> findBookings(Specification<Booking> specification, Sort sort, Pageable pageable);
+}
@@ -1,71 +1,108 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingSummaryView;
+import ru.practicum.shareit.booking.dto.NearestBookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("select b from Booking b where b.end < current_timestamp and b.item.id = ?2 and not b.booker.id = ?1")
-    List<Booking> getLastBooking(Long userId, Long id, Pageable pageable);
-
-    @Query("select b from Booking b where b.start > current_timestamp and b.item.id = ?2 and not b.booker.id = ?1")
-    List<Booking> getNextBooking(Long userId, Long itemId, Pageable pageable);
-
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
+    /**
+     * Последнее завершенное и следующее бронирование для каждой вещи из списка одним запросом.
+     * <p>Бронирования пользователя с ID = userId не учитываются.</p>
+     */
+    @Query(value = "select t.id as id, t.item_id as itemId, t.booker_id as bookerId, t.type as type " +
+            "from (select b.id, b.item_id, b.booker_id, 'LAST' as type, " +
+            "             row_number() over (partition by b.item_id order by b.booking_to, b.id) as rn " +
+            "      from bookings b " +
+            "      where b.item_id in (?2) and b.booking_to < current_timestamp and b.booker_id <> ?1 " +
+            "      union all " +
+            "      select b.id, b.item_id, b.booker_id, 'NEXT' as type, " +
+            "             row_number() over (partition by b.item_id order by b.booking_from desc, b.id) as rn " +
+            "      from bookings b " +
+            "      where b.item_id in (?2) and b.booking_from > current_timestamp and b.booker_id <> ?1) t " +
+            "where t.rn = 1",
+            nativeQuery = true)
+    List<NearestBookingView> getNearestBookings(Long userId, Collection<Long> itemIds);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
     Optional<Booking> findBookingById(Long id);
 
-    List<Booking> findBookingsByBooker_IdOrderByStartDesc(Long bookerId, PageRequest pageRequest);
+    /**
+     * Количество бронирований вещей владельца в каждом состоянии одним запросом.
+     */
+    @Query("select count(b) as allCount, " +
+            "sum(case when b.phase = ru.practicum.shareit.booking.model.BookingPhase.CURRENT then 1 else 0 end) " +
+            "as currentCount, " +
+            "sum(case when b.phase = ru.practicum.shareit.booking.model.BookingPhase.PAST then 1 else 0 end) " +
+            "as pastCount, " +
+            "sum(case when b.phase = ru.practicum.shareit.booking.model.BookingPhase.FUTURE then 1 else 0 end) " +
+            "as futureCount, " +
+            "sum(case when b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING then 1 else 0 end) " +
+            "as waitingCount, " +
+            "sum(case when b.status = ru.practicum.shareit.booking.model.BookingStatus.REJECTED then 1 else 0 end) " +
+            "as rejectedCount " +
+            "from Booking b where b.item.owner.id = ?1")
+    BookingSummaryView getOwnerBookingsSummary(Long ownerId);
+
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner join fetch b.booker where b.id in ?1")
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Long> ids);
+
+    /**
+     * Смена статуса бронирований одним запросом. Контекст хранения очищается, загруженные ранее
+     * бронирования нужно обновить вручную.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?1 where b.id in ?2")
+    int updateStatus(BookingStatus status, Collection<Long> ids);
+
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b where b.item.id = ?1 and b.status in ?2")
+    List<BookingInterval> findIntervalsByItemId(Long itemId, Collection<BookingStatus> statuses);
+
+    /**
+     * Проверка пересечения периода [start, end) с бронированиями вещи средствами БД.
+     */
+    @Query("select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 and b.status in ?4 and b.start < ?3 and b.end > ?2")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Collection<BookingStatus> statuses);
+
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b where b.phase = ?1 and b.start <= ?2")
+    List<BookingInterval> findIntervalsByPhaseStartingBefore(BookingPhase phase, LocalDateTime limit);
+
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b where b.phase = ?1 and b.end <= ?2")
+    List<BookingInterval> findIntervalsByPhaseEndingBefore(BookingPhase phase, LocalDateTime limit);
+
+    @Modifying
+    @Query("update Booking b set b.phase = ?1 where b.id in ?2 and b.phase in ?3")
+    int updatePhase(BookingPhase phase, Collection<Long> ids, Collection<BookingPhase> fromPhases);
+
+    /**
+     * Перевод в CURRENT начавшихся бронирований, фаза которых не была изменена вовремя.
+     */
+    @Modifying
+    @Query("update Booking b set b.phase = 'CURRENT' where b.phase = 'FUTURE' and b.start <= ?1 and b.end > ?1")
+    int markStarted(LocalDateTime now);
+
+    /**
+     * Перевод в PAST завершенных бронирований, фаза которых не была изменена вовремя.
+     */
+    @Modifying
+    @Query("update Booking b set b.phase = 'PAST' where b.phase in ('FUTURE', 'CURRENT') and b.end <= ?1")
+    int markFinished(LocalDateTime now);
 
     @Query("select b from Booking b where b.booker.id = ?1 and b.item.id = ?2 and b.end < ?3 and b.status = ?4")
     List<Booking> findBookingsByBooker_IdAndItemIdAndEndBeforeAndStatus(Long bookerId,
                                                                         Long itemId,
                                                                         LocalDateTime end,
                                                                         BookingStatus status);
-
-    List<Booking> findBookingsByBooker_IdAndStatusEqualsOrderByStartDesc(Long userId,
-                                                                         BookingStatus bookingStatus,
-                                                                         PageRequest pageRequest);
-
-    List<Booking> findBookingsByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                                   LocalDateTime start,
-                                                                                   LocalDateTime end,
-                                                                                   PageRequest pageRequest);
-
-    List<Booking> findBookingsByBooker_IdAndStartBeforeAndEndBeforeOrderByStartDesc(Long bookerId,
-                                                                                    LocalDateTime start,
-                                                                                    LocalDateTime end,
-                                                                                    PageRequest pageRequest);
-
-    List<Booking> findBookingsByBooker_IdAndStartAfterAndEndAfterOrderByStartDesc(Long userId,
-                                                                                  LocalDateTime start,
-                                                                                  LocalDateTime end,
-                                                                                  PageRequest pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdOrderByStartDesc(Long userId, PageRequest pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdAndStatusEqualsOrderByStartDesc(Long userId,
-                                                                           BookingStatus rejected,
-                                                                           PageRequest pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId,
-                                                                                     LocalDateTime start,
-                                                                                     LocalDateTime end,
-                                                                                     PageRequest pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdAndStartBeforeAndEndBeforeOrderByStartDesc(Long userId,
-                                                                                      LocalDateTime start,
-                                                                                      LocalDateTime end,
-                                                                                      PageRequest pageRequest);
-
-    List<Booking> findBookingsByItemOwnerIdAndStartAfterAndEndAfterOrderByStartDesc(Long userId,
-                                                                                    LocalDateTime start,
-                                                                                    LocalDateTime end,
-                                                                                    PageRequest pageRequest);
-
-}
\ No newline at end of file
+}
@@ -1,19 +1,34 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     List<ResponseBookingDto> getUserBookings(Long userId, String bookingState, PageRequest pageRequest);
 
+    CursorPage<ResponseBookingDto> getUserBookings(Long userId, String bookingState, String after, Integer size);
+
     ResponseBookingDto getBooking(Long userId, Long bookingId);
 
     List<ResponseBookingDto> getOwnerBookings(Long userId, String state, PageRequest pageRequest);
 
+    CursorPage<ResponseBookingDto> getOwnerBookings(Long userId, String state, String after, Integer size);
+
+    Map<BookingState, Long> getOwnerBookingsSummary(Long userId);
+
+    void checkSubscriber(Long userId);
+
     BookingDto addBooking(Long userId, BookingDto bookingDto);
 
     ResponseBookingDto approveBooking(Long userId, Long bookingId, Boolean approved);
+
+    List<BookingBatchResultDto> approveBookings(Long userId, List<BookingDecisionDto> decisions);
 }
\ No newline at end of file
@@ -2,38 +2,69 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.AvailabilityEngine;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.lifecycle.BookingPhaseSweeper;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryView;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.events.BookingChangedEvent;
+import ru.practicum.shareit.booking.events.BookingEventType;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemCache;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserDirectory;
+import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-//@Transactional(readOnly = true)
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    // id — для однозначного порядка бронирований с одинаковым началом, на нем основана keyset-пагинация
+    private static final Sort BOOKINGS_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
+    private final UserDirectory userDirectory;
+    private final ItemCache itemCache;
+    private final AvailabilityEngine availabilityEngine;
+    private final BookingPhaseSweeper phaseSweeper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ResponseBookingDto> getUserBookings(Long userId, String bookingState, PageRequest pageRequest) {
         log.info("SERVICE: Обработка запроса на получение списка бронирований пользователя с ID = {}.", userId);
-        validationUserId(userId);
-        List<Booking> bookings = getUserBookingList(userId, bookingState, pageRequest);
+        List<Booking> bookings = findBookings(BookingRole.BOOKER, userId, bookingState, null, pageRequest);
 
         log.info("SERVICE: Отправка списка бронирований пользователя с ID = {}.", userId);
         return bookings
@@ -42,6 +73,25 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    /**
+     * Страница бронирований пользователя после курсора (keyset-пагинация по (start, id)).
+     * <p>В отличие от пагинации по смещению, не просматривает пропущенные строки, поэтому время запроса
+     * не зависит от глубины страницы.</p>
+     *
+     * @param after курсор страницы, пустое значение для первой страницы.
+     * @return {@link CursorPage} {@link ResponseBookingDto}
+     */
+    @Override
+    public CursorPage<ResponseBookingDto> getUserBookings(Long userId, String bookingState, String after, Integer size) {
+        log.info("SERVICE: Обработка запроса на получение страницы бронирований пользователя с ID = {} после курсора: {}.",
+                userId,
+                after);
+        CursorPage<ResponseBookingDto> page = findBookingsPage(BookingRole.BOOKER, userId, bookingState, after, size);
+
+        log.info("SERVICE: Отправка страницы бронирований пользователя с ID = {}.", userId);
+        return page;
+    }
+
     @Override
     public ResponseBookingDto getBooking(Long userId, Long bookingId) {
         log.info("SERVICE: Обработка запроса на получение информации о бронировании с ID = {} пользователя с ID = {}.",
@@ -65,8 +115,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<ResponseBookingDto> getOwnerBookings(Long userId, String bookingState, PageRequest pageRequest) {
         log.info("CONTROLLER: Обработка запроса на получение информации о бронированиях пользователя с ID = {}.", userId);
-        validationUserId(userId);
-        List<Booking> bookings = getOwnerBookingsList(userId, bookingState, pageRequest);
+        List<Booking> bookings = findBookings(BookingRole.OWNER, userId, bookingState, null, pageRequest);
 
         log.info("CONTROLLER: Отправка информации о бронированиях пользователя с ID = {}.", userId);
         return bookings
@@ -75,33 +124,79 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    /**
+     * Страница бронирований вещей пользователя после курсора, см. {@link #getUserBookings(Long, String, String,
+     * Integer)}.
+     */
+    @Override
+    public CursorPage<ResponseBookingDto> getOwnerBookings(Long userId, String bookingState, String after, Integer size) {
+        log.info("SERVICE: Обработка запроса на получение страницы бронирований вещей пользователя с ID = {} " +
+                "после курсора: {}.", userId, after);
+        CursorPage<ResponseBookingDto> page = findBookingsPage(BookingRole.OWNER, userId, bookingState, after, size);
+
+        log.info("SERVICE: Отправка страницы бронирований вещей пользователя с ID = {}.", userId);
+        return page;
+    }
+
+    /**
+     * Количество бронирований вещей пользователя в каждом состоянии {@link BookingState}.
+     * <p>Считается одним запросом с условной агрегацией, а не шестью запросами списков.</p>
+     */
+    @Override
+    public Map<BookingState, Long> getOwnerBookingsSummary(Long userId) {
+        log.info("SERVICE: Обработка запроса на получение количества бронирований пользователя с ID = {}.", userId);
+        validationUserId(userId);
+        BookingSummaryView view = bookingRepository.getOwnerBookingsSummary(userId);
+
+        Map<BookingState, Long> summary = new EnumMap<>(BookingState.class);
+        summary.put(BookingState.ALL, countOrZero(view.getAllCount()));
+        summary.put(BookingState.CURRENT, countOrZero(view.getCurrentCount()));
+        summary.put(BookingState.FUTURE, countOrZero(view.getFutureCount()));
+        summary.put(BookingState.PAST, countOrZero(view.getPastCount()));
+        summary.put(BookingState.REJECTED, countOrZero(view.getRejectedCount()));
+        summary.put(BookingState.WAITING, countOrZero(view.getWaitingCount()));
+
+        log.info("SERVICE: Отправка количества бронирований пользователя с ID = {}.", userId);
+        return summary;
+    }
+
+    /**
+     * Проверка пользователя перед подпиской на события бронирований его и его вещей.
+     * <p>События публикуются в транзакциях {@link #addBooking}, {@link #approveBooking} и {@link #approveBookings}
+     * и отправляются только после их фиксации.</p>
+     */
     @Override
-//    @Transactional
+    public void checkSubscriber(Long userId) {
+        log.info("SERVICE: Обработка запроса на подписку на события бронирований пользователя с ID = {}.", userId);
+        validationUserId(userId);
+    }
+
+    @Override
+    @Transactional
     public BookingDto addBooking(Long userId, BookingDto bookingDto) {
         log.info("SERVICE: Обработка запроса на бронирование вещи от пользователя с ID = {}.", userId);
-        dataValidation(userId, bookingDto);
+        User booker = dataValidation(userId, bookingDto);
         Booking booking = BookingMapper.fromDto(bookingDto);
+        booking.setBooker(booker);
 
-        booking.setBooker(userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("SERVICE: Пользователь с ID = {} - не найден.", userId);
-                    throw new NotFoundException("Пользователь с ID = " + userId + "- не найден.");
-                }));
-
-        booking.setItem(itemRepository.getItemById(bookingDto.getItemId())
+        booking.setItem(itemCache.getItemById(bookingDto.getItemId())
                 .orElseThrow(() -> {
                     log.error("SERVICE: Вещь с ID = {} - не найдена.", bookingDto.getItemId());
                     throw new NotFoundException("Вещь с ID = " + bookingDto.getItemId() + " не найдена.");
                 }));
         booking.setStatus(BookingStatus.WAITING);
 
+        availabilityEngine.reserve(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                () -> bookingRepository.saveAndFlush(booking));
+        phaseSweeper.track(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingEventType.CREATED, booking));
+
         log.info("SERVICE: Отправка информации о запросе на бронирование вещи от пользователя с ID = {}.", userId);
-        bookingRepository.save(booking);
         return BookingMapper.toDto(booking);
     }
 
     @Override
-//    @Transactional
+    @Transactional
     public ResponseBookingDto approveBooking(Long userId, Long bookingId, Boolean approved) {
         log.info("SERVICE: Обработка запроса на подтверждение бронирования с ID = {} пользователем с ID = {}.",
                 bookingId,
@@ -120,96 +215,251 @@ public class BookingServiceImpl implements BookingService {
             log.error("SERVICE: Бронирование уже в статусе {}", BookingStatus.APPROVED);
             throw new BadRequestException("Бронирование уже в статусе " + BookingStatus.APPROVED + ".");
         }
+        BookingStatus oldStatus = booking.getStatus();
+        Long itemId = booking.getItem().getId();
+        Booking savedBooking;
         if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
+            // Статус меняется только после проверки расписания: иначе при загрузке расписания из БД
+            // автоматический flush запишет APPROVED, и бронирование пересечется само с собой
+            Supplier<Booking> approve = () -> {
+                booking.setStatus(BookingStatus.APPROVED);
+                return bookingRepository.saveAndFlush(booking);
+            };
+            if (oldStatus.equals(BookingStatus.REJECTED)) {
+                savedBooking = availabilityEngine.reserve(itemId, booking.getStart(), booking.getEnd(), approve);
+            } else {
+                savedBooking = availabilityEngine.save(itemId, booking.getStart(), booking.getEnd(), approve);
+            }
         } else {
             booking.setStatus(BookingStatus.REJECTED);
+            savedBooking = bookingRepository.save(booking);
+            availabilityEngine.release(itemId, bookingId, booking.getStart(), booking.getEnd());
         }
+        eventPublisher.publishEvent(new BookingChangedEvent(approved ? BookingEventType.APPROVED
+                : BookingEventType.REJECTED, savedBooking));
 
         log.info("SERVICE: Отправка подтверждения бронирования с ID = {} пользователем с ID = {}.",
                 bookingId,
                 userId);
-        return BookingMapper.toResponseBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toResponseBookingDto(savedBooking);
     }
 
-    private void validationUserId(Long userId) {
-        userRepository.findById(userId)
+    /**
+     * Пакетное подтверждение и отклонение бронирований владельцем вещей.
+     * <p>Все бронирования загружаются одним запросом, принадлежность вещей проверяется в памяти. Решения с ошибками
+     * не применяются, остальные применяются одним UPDATE на каждый новый статус. Подтверждение отклоненного
+     * бронирования, как и в {@link #approveBooking}, проверяет пересечение с активными бронированиями и записывает
+     * статус отдельно, под блокировкой вещи, чтобы расписание и БД не расходились.</p>
+     * <p>UPDATE очищает контекст хранения, поэтому результат и события строятся по бронированиям, заново
+     * прочитанным после изменения.</p>
+     *
+     * @return {@link List} {@link BookingBatchResultDto} в порядке решений.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> approveBookings(Long userId, List<BookingDecisionDto> decisions) {
+        log.info("SERVICE: Обработка запроса на подтверждение {} бронирований пользователем с ID = {}.",
+                decisions.size(),
+                userId);
+        validationUserId(userId);
+        Map<Long, Booking> bookings = findBookingsWithItemAndBooker(decisions.stream()
+                .filter(decision -> decision != null && decision.getBookingId() != null)
+                .map(BookingDecisionDto::getBookingId)
+                .collect(Collectors.toSet()));
+
+        String[] errors = new String[decisions.size()];
+        Map<Long, BookingStatus> oldStatuses = new HashMap<>();
+        Map<Long, BookingStatus> newStatuses = new HashMap<>();
+        // Повторно подтвержденные бронирования, статус которых уже записан в reapprove
+        Set<Long> reapproved = new HashSet<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            errors[i] = checkDecision(userId, decision, bookings, newStatuses);
+            if (errors[i] != null) {
+                continue;
+            }
+            Booking booking = bookings.get(decision.getBookingId());
+            BookingStatus oldStatus = booking.getStatus();
+            if (decision.getApproved() && oldStatus.equals(BookingStatus.REJECTED)) {
+                errors[i] = reapprove(booking);
+                if (errors[i] != null) {
+                    continue;
+                }
+                reapproved.add(booking.getId());
+            }
+            oldStatuses.put(booking.getId(), oldStatus);
+            newStatuses.put(booking.getId(), decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        }
+
+        for (BookingStatus status : List.of(BookingStatus.APPROVED, BookingStatus.REJECTED)) {
+            List<Long> ids = newStatuses.entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(status) && !reapproved.contains(entry.getKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                continue;
+            }
+            try {
+                bookingRepository.updateStatus(status, ids);
+            } catch (DataIntegrityViolationException e) {
+                log.error("SERVICE: Подтвержденные бронирования пересекаются: {}.", e.getMostSpecificCause().getMessage());
+                throw new BadRequestException("Подтвержденные бронирования одной вещи не должны пересекаться.");
+            }
+        }
+
+        Map<Long, Booking> updated = newStatuses.isEmpty() ? Map.of()
+                : findBookingsWithItemAndBooker(newStatuses.keySet());
+        List<BookingBatchResultDto> results = new ArrayList<>(decisions.size());
+        for (int i = 0; i < decisions.size(); i++) {
+            if (errors[i] != null) {
+                results.add(new BookingBatchResultDto(i, null, errors[i]));
+                continue;
+            }
+            Booking booking = updated.get(decisions.get(i).getBookingId());
+            if (booking.getStatus().equals(BookingStatus.REJECTED)
+                    && oldStatuses.get(booking.getId()).equals(BookingStatus.WAITING)) {
+                availabilityEngine.release(booking.getItem().getId(), booking.getId(), booking.getStart(),
+                        booking.getEnd());
+            }
+            eventPublisher.publishEvent(new BookingChangedEvent(booking.getStatus().equals(BookingStatus.APPROVED)
+                    ? BookingEventType.APPROVED : BookingEventType.REJECTED, booking));
+            results.add(new BookingBatchResultDto(i, BookingMapper.toResponseBookingDto(booking), null));
+        }
+
+        log.info("SERVICE: Применено {} из {} решений по бронированиям пользователем с ID = {}.",
+                newStatuses.size(),
+                decisions.size(),
+                userId);
+        return results;
+    }
+
+    /**
+     * Повторное подтверждение отклоненного бронирования из пакета: проверка расписания и запись статуса
+     * под блокировкой вещи.
+     *
+     * @return текст ошибки, если период уже занят, иначе null.
+     * @throws BadRequestException если пересечение обнаружено ограничением в БД: транзакция уже не может
+     *                             продолжаться, и пакет отклоняется целиком, как при пересечении в UPDATE.
+     */
+    private String reapprove(Booking booking) {
+        AtomicBoolean written = new AtomicBoolean();
+        try {
+            availabilityEngine.reserve(booking.getItem().getId(), booking.getStart(), booking.getEnd(), () -> {
+                written.set(true);
+                booking.setStatus(BookingStatus.APPROVED);
+                return bookingRepository.saveAndFlush(booking);
+            });
+            return null;
+        } catch (BadRequestException e) {
+            if (written.get()) {
+                throw e;
+            }
+            return e.getMessage();
+        }
+    }
+
+    private Map<Long, Booking> findBookingsWithItemAndBooker(Collection<Long> ids) {
+        return bookingRepository.findAllWithItemAndBookerByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+    }
+
+    private String checkDecision(Long userId,
+                                 BookingDecisionDto decision,
+                                 Map<Long, Booking> bookings,
+                                 Map<Long, BookingStatus> newStatuses) {
+        if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+            return "Не передан ID бронирования или решение.";
+        }
+        Booking booking = bookings.get(decision.getBookingId());
+        if (booking == null) {
+            return "Бронирование с ID = " + decision.getBookingId() + " не найдено.";
+        }
+        if (!booking.getItem().getOwner().getId().equals(userId)) {
+            return "Нельзя сменить статус бронирования чужой вещи.";
+        }
+        if (newStatuses.containsKey(booking.getId())) {
+            return "Бронирование с ID = " + booking.getId() + " уже есть в пакете.";
+        }
+        if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+            return "Бронирование уже в статусе " + BookingStatus.APPROVED + ".";
+        }
+        return null;
+    }
+
+    private static long countOrZero(Long count) {
+        return count == null ? 0 : count;
+    }
+
+    private User validationUserId(Long userId) {
+        return userDirectory.getUserById(userId)
                 .orElseThrow(() -> {
                     log.error("SERVICE: Пользователь с ID = {} - не найден.", userId);
                     throw new NotFoundException("Пользователь с ID = " + userId + "- не найден.");
                 });
     }
 
-    private List<Booking> getUserBookingList(Long userId, String bookingState, PageRequest pageRequest) {
-        switch (BookingState.valueOf(bookingState)) {
-            case ALL:
-                return bookingRepository.findBookingsByBooker_IdOrderByStartDesc(userId, pageRequest);
-            case WAITING:
-                return bookingRepository
-                        .findBookingsByBooker_IdAndStatusEqualsOrderByStartDesc(
-                                userId,
-                                BookingStatus.WAITING,
-                                pageRequest);
-            case PAST:
-                return bookingRepository
-                        .findBookingsByBooker_IdAndStartBeforeAndEndBeforeOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-            case FUTURE:
-                return bookingRepository
-                        .findBookingsByBooker_IdAndStartAfterAndEndAfterOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-            case REJECTED:
-                return bookingRepository
-                        .findBookingsByBooker_IdAndStatusEqualsOrderByStartDesc(
-                                userId,
-                                BookingStatus.REJECTED,
-                                pageRequest);
-            case CURRENT:
-                return bookingRepository
-                        .findBookingsByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-            default:
-                return Collections.emptyList();
-        }
-    }
-
-    private List<Booking> getOwnerBookingsList(Long userId, String bookingState, PageRequest pageRequest) {
-        switch (BookingState.valueOf(bookingState)) {
-            case CURRENT:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-            case FUTURE:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdAndStartAfterAndEndAfterOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-            case PAST:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdAndStartBeforeAndEndBeforeOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-            case WAITING:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdAndStatusEqualsOrderByStartDesc(userId, BookingStatus.WAITING, pageRequest);
-            case REJECTED:
-                return bookingRepository
-                        .findBookingsByItemOwnerIdAndStatusEqualsOrderByStartDesc(userId, BookingStatus.REJECTED, pageRequest);
-            case ALL:
-                return bookingRepository.findBookingsByItemOwnerIdOrderByStartDesc(userId, pageRequest);
-            default:
-                return Collections.emptyList();
-        }
-    }
-
-    private void dataValidation(Long userId, BookingDto bookingDto) {
-        Item item = itemRepository.getItemById(bookingDto.getItemId()).orElseThrow(() -> {
+    /**
+     * Бронирования пользователя одним запросом вместе с вещами, владельцами и пользователями.
+     * <p>Существование пользователя проверяется отдельным запросом только при пустом результате: найденные
+     * бронирования ссылаются на пользователя внешним ключом.</p>
+     */
+    private List<Booking> findBookings(BookingRole role,
+                                       Long userId,
+                                       String bookingState,
+                                       Specification<Booking> after,
+                                       PageRequest pageRequest) {
+        List<Booking> bookings = bookingRepository.findBookings(
+                BookingSpecifications.of(role, userId, BookingState.valueOf(bookingState)).and(after),
+                BOOKINGS_SORT,
+                pageRequest);
+        if (bookings.isEmpty()) {
+            validationUserId(userId);
+        }
+        return bookings;
+    }
+
+    /**
+     * Страница по курсору: запрашивается на одно бронирование больше, если оно есть — страница не последняя,
+     * курсор следующей страницы кодирует (start, id) ее последнего бронирования.
+     */
+    private CursorPage<ResponseBookingDto> findBookingsPage(BookingRole role,
+                                                            Long userId,
+                                                            String bookingState,
+                                                            String after,
+                                                            int size) {
+        Specification<Booking> afterCursor = null;
+        if (after != null && !after.isEmpty()) {
+            String[] values = Cursor.decode(after, 2);
+            try {
+                afterCursor = BookingSpecifications.after(LocalDateTime.parse(values[0]), Long.parseLong(values[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Некорректный курсор: " + after + ".");
+            }
+        }
+        List<Booking> bookings = findBookings(role, userId, bookingState, afterCursor, PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (bookings.size() > size) {
+            bookings = bookings.subList(0, size);
+            Booking last = bookings.get(size - 1);
+            nextCursor = Cursor.encode(last.getStart(), last.getId());
+        }
+        return new CursorPage<>(bookings.stream()
+                .map(BookingMapper::toResponseBookingDto)
+                .collect(Collectors.toUnmodifiableList()), nextCursor);
+    }
+
+    /**
+     * Проверка данных нового бронирования.
+     *
+     * @return бронирующий пользователь.
+     */
+    private User dataValidation(Long userId, BookingDto bookingDto) {
+        Item item = itemCache.getItemById(bookingDto.getItemId()).orElseThrow(() -> {
             log.error("SERVICE: Вещь с ID = {} - не найдена.", bookingDto.getItemId());
             throw new NotFoundException("Вещь с ID = " + bookingDto.getItemId() + " не найдена.");
         });
 
-        userRepository.findById(userId).orElseThrow(() -> {
-            log.error("SERVICE: Пользователь с ID = {} - не найден.", userId);
-            throw new NotFoundException("Пользователь с ID = " + userId + "- не найден.");
-        });
+        User booker = validationUserId(userId);
 
         if (item.getOwner().getId().equals(userId)) {
             log.error("SERVICE: Пользователь с ID = {} не может бронировать свою вещь.", userId);
@@ -225,5 +475,6 @@ public class BookingServiceImpl implements BookingService {
             log.error("SERVICE: Дата начала бронирования раньше даты окончания бронирования.");
             throw new BadRequestException("Дата начала бронирования раньше даты окончания бронирования.");
         }
+        return booker;
     }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.tx.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Проверка занятости вещей по расписаниям активных (WAITING и APPROVED) бронирований.
+ * <p>Расписание вещи {@link ItemSchedule} загружается из БД при первом обращении и затем обновляется
+ * при добавлении, подтверждении и отклонении бронирований. Количество расписаний в памяти ограничено
+ * свойством <b>shareit.cache.schedules.maximum-size</b>, неиспользуемые расписания удаляются через
+ * <b>shareit.cache.schedules.ttl</b>.</p>
+ * <p>Проверка и изменение расписания вещи выполняются под блокировкой, общей для группы вещей (striped lock),
+ * поэтому одновременные запросы на одну вещь не создают пересекающихся бронирований и не ждут друг друга в БД.
+ * Расписание меняется сразу, до фиксации транзакции, так что незафиксированные бронирования видны другим
+ * запросам. При откате транзакции расписание возвращается в исходное состояние.</p>
+ * <p>Расписание с незафиксированными бронированиями закрепляется в памяти до завершения транзакции: если бы
+ * кэш вытеснил его, следующий запрос загрузил бы из БД только зафиксированные бронирования и принял бы
+ * пересекающееся бронирование в статусе WAITING, которое не запрещено ограничением в БД.</p>
+ * <p>В PostgreSQL пересечение подтвержденных бронирований дополнительно запрещено ограничением
+ * ex_bookings_item_id_period. Нарушение ограничения, например при работе нескольких экземпляров сервера,
+ * возвращается как {@link BadRequestException}.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class AvailabilityEngine {
+    public static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemSchedule> schedules;
+    // Расписания с незафиксированными бронированиями, не вытесняются до завершения транзакций
+    private final Map<Long, Pin> pinned = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public AvailabilityEngine(BookingRepository bookingRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.cache.schedules.maximum-size:10000}") long maximumSize,
+                              @Value("${shareit.cache.schedules.ttl:30m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, schedules, "schedules");
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Проверка, свободна ли вещь в период [start, end).
+     */
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        synchronized (lockFor(itemId)) {
+            return !getSchedule(itemId).overlaps(start, end);
+        }
+    }
+
+    /**
+     * Свободные периоды вещи внутри [from, to).
+     */
+    public List<ItemSchedule.FreeSlot> freeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        synchronized (lockFor(itemId)) {
+            return getSchedule(itemId).freeSlots(from, to);
+        }
+    }
+
+    /**
+     * Бронирование вещи на период [start, end).
+     * <p>Если период пересекается с активным бронированием, выбрасывается {@link BadRequestException}.
+     * Иначе бронирование сохраняется и добавляется в расписание вещи. Проверка и сохранение выполняются
+     * под одной блокировкой.</p>
+     *
+     * @param itemId ID вещи.
+     * @param start  начало периода.
+     * @param end    окончание периода.
+     * @param save   сохранение бронирования в БД.
+     * @return сохраненное бронирование.
+     */
+    public Booking reserve(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> save) {
+        synchronized (lockFor(itemId)) {
+            ItemSchedule schedule = getSchedule(itemId);
+            if (schedule.overlaps(start, end)) {
+                log.error("SERVICE: Вещь с ID = {} уже забронирована в период с {} по {}.", itemId, start, end);
+                throw new BadRequestException("Вещь с ID = " + itemId + " уже забронирована в период с " + start +
+                        " по " + end + ".");
+            }
+            Booking booking = save(itemId, start, end, save);
+            schedule.add(booking.getId(), start, end);
+            pin(itemId, schedule, () -> schedule.remove(booking.getId()));
+            return booking;
+        }
+    }
+
+    /**
+     * Сохранение бронирования, период которого уже есть в расписании, например при его подтверждении.
+     * <p>Бронирование должно сохраняться с flush, чтобы нарушение ограничения в БД было обнаружено здесь.</p>
+     */
+    public Booking save(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            log.error("SERVICE: Вещь с ID = {} уже забронирована в период с {} по {}: {}.",
+                    itemId, start, end, e.getMostSpecificCause().getMessage());
+            throw new BadRequestException("Вещь с ID = " + itemId + " уже забронирована в период с " + start +
+                    " по " + end + ".");
+        }
+    }
+
+    /**
+     * Освобождение периода отклоненного бронирования.
+     * <p>После фиксации период удаляется и из расписания, загруженного из БД до фиксации.</p>
+     */
+    public void release(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        synchronized (lockFor(itemId)) {
+            ItemSchedule schedule = findSchedule(itemId);
+            boolean removed = schedule != null && schedule.remove(bookingId);
+            AfterCommit.onCompletion(status -> {
+                synchronized (lockFor(itemId)) {
+                    ItemSchedule current = findSchedule(itemId);
+                    if (current == null) {
+                        return;
+                    }
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        current.remove(bookingId);
+                    } else if (removed && !current.contains(bookingId)) {
+                        current.add(bookingId, start, end);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Удаление расписания из кэша. Закрепленное расписание остается в памяти до завершения транзакций.
+     */
+    public void evict(Long itemId) {
+        schedules.invalidate(itemId);
+    }
+
+    /**
+     * Закрепление расписания до завершения текущей транзакции. При откате выполняется undo.
+     */
+    private void pin(Long itemId, ItemSchedule schedule, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pinned.computeIfAbsent(itemId, id -> new Pin(schedule)).transactions++;
+        AfterCommit.onCompletion(status -> {
+            synchronized (lockFor(itemId)) {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    undo.run();
+                }
+                Pin pin = pinned.get(itemId);
+                if (--pin.transactions == 0) {
+                    pinned.remove(itemId);
+                    // Расписание могло быть вытеснено из кэша, пока было закреплено
+                    schedules.put(itemId, pin.schedule);
+                }
+            }
+        });
+    }
+
+    private ItemSchedule findSchedule(Long itemId) {
+        Pin pin = pinned.get(itemId);
+        return pin != null ? pin.schedule : schedules.getIfPresent(itemId);
+    }
+
+    private ItemSchedule getSchedule(Long itemId) {
+        Pin pin = pinned.get(itemId);
+        if (pin != null) {
+            return pin.schedule;
+        }
+        return schedules.get(itemId, id -> {
+            log.info("SERVICE: Загрузка расписания бронирований вещи с ID = {}.", id);
+            return new ItemSchedule(bookingRepository.findIntervalsByItemId(id, ACTIVE_STATUSES));
+        });
+    }
+
+    private Object lockFor(Long itemId) {
+        return locks[Math.floorMod(itemId.hashCode(), STRIPES)];
+    }
+
+    /**
+     * Закрепленное расписание и количество незавершенных транзакций, изменивших его.
+     * Изменяется только под блокировкой вещи.
+     */
+    private static class Pin {
+        private final ItemSchedule schedule;
+        private int transactions;
+
+        Pin(ItemSchedule schedule) {
+            this.schedule = schedule;
+        }
+    }
+}
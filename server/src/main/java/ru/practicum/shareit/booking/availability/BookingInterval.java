@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования вещи.
+ *
+ * @author Igor Ivanov
+ */
+public interface BookingInterval {
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
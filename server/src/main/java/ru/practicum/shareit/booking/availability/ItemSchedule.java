@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Расписание занятости одной вещи — полуинтервалы [начало, окончание) активных бронирований.
+ * <p>Бронирования хранятся как непересекающиеся блоки занятости, упорядоченные по началу: блок — это
+ * объединение пересекающихся бронирований. Обычно каждый блок состоит из одного бронирования, несколько
+ * бронирований в блоке бывают только у пересекающихся бронирований, созданных до проверки пересечений.
+ * Так как блоки не пересекаются, проверка свободного периода сводится к поиску одного блока — O(log n).</p>
+ * <p>Класс не потокобезопасен.</p>
+ *
+ * @author Igor Ivanov
+ */
+public class ItemSchedule {
+    private final NavigableMap<LocalDateTime, Block> blocks = new TreeMap<>();
+    private final Map<Long, Block> blocksByBooking = new HashMap<>();
+
+    public ItemSchedule(Collection<? extends BookingInterval> bookings) {
+        List<BookingInterval> sorted = new ArrayList<>(bookings);
+        sorted.sort(Comparator.comparing(BookingInterval::getStart));
+        addBlocks(sorted);
+    }
+
+    /**
+     * Проверка, пересекается ли период с каким-либо бронированием.
+     *
+     * @param start начало периода.
+     * @param end   окончание периода, не включается в период.
+     * @return true, если период пересекается с бронированием.
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Block> entry = blocks.lowerEntry(end);
+        return entry != null && entry.getValue().end.isAfter(start);
+    }
+
+    /**
+     * Добавление бронирования. Пересечение с другими бронированиями не проверяется.
+     */
+    public void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        List<BookingInterval> merged = new ArrayList<>();
+        merged.add(new Interval(bookingId, start, end));
+        LocalDateTime from = start;
+        Map.Entry<LocalDateTime, Block> entry = blocks.lowerEntry(end);
+        while (entry != null && entry.getValue().end.isAfter(start)) {
+            Block block = entry.getValue();
+            removeBlock(block);
+            merged.addAll(block.bookings);
+            from = block.start;
+            entry = blocks.lowerEntry(from);
+        }
+        merged.sort(Comparator.comparing(BookingInterval::getStart));
+        addBlocks(merged);
+    }
+
+    /**
+     * Удаление бронирования, например при его отклонении.
+     *
+     * @return true, если бронирование было в расписании.
+     */
+    public boolean remove(Long bookingId) {
+        Block block = blocksByBooking.get(bookingId);
+        if (block == null) {
+            return false;
+        }
+        removeBlock(block);
+        List<BookingInterval> rest = new ArrayList<>(block.bookings);
+        rest.removeIf(booking -> booking.getId().equals(bookingId));
+        addBlocks(rest);
+        return true;
+    }
+
+    /**
+     * Свободные периоды внутри [from, to) за один проход по блокам, попадающим в этот период.
+     *
+     * @return {@link List} свободных периодов в порядке начала.
+     */
+    public List<FreeSlot> freeSlots(LocalDateTime from, LocalDateTime to) {
+        List<FreeSlot> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        LocalDateTime firstKey = blocks.floorKey(from);
+        Collection<Block> candidates = firstKey == null
+                ? blocks.headMap(to, false).values()
+                : blocks.subMap(firstKey, true, to, false).values();
+        for (Block block : candidates) {
+            if (!block.end.isAfter(cursor)) {
+                continue;
+            }
+            if (block.start.isAfter(cursor)) {
+                slots.add(new FreeSlot(cursor, block.start));
+            }
+            cursor = block.end;
+            if (!cursor.isBefore(to)) {
+                return slots;
+            }
+        }
+        slots.add(new FreeSlot(cursor, to));
+        return slots;
+    }
+
+    public boolean contains(Long bookingId) {
+        return blocksByBooking.containsKey(bookingId);
+    }
+
+    /**
+     * Блоки занятости в порядке начала.
+     */
+    public Collection<Block> getBlocks() {
+        return blocks.values();
+    }
+
+    public int size() {
+        return blocksByBooking.size();
+    }
+
+    private void addBlocks(List<BookingInterval> sorted) {
+        Block current = null;
+        for (BookingInterval booking : sorted) {
+            if (!booking.getStart().isBefore(booking.getEnd())) {
+                continue;
+            }
+            if (current == null || !booking.getStart().isBefore(current.end)) {
+                current = new Block(booking.getStart(), booking.getEnd());
+                blocks.put(current.start, current);
+            } else if (booking.getEnd().isAfter(current.end)) {
+                current.end = booking.getEnd();
+            }
+            current.bookings.add(booking);
+            blocksByBooking.put(booking.getId(), current);
+        }
+    }
+
+    private void removeBlock(Block block) {
+        blocks.remove(block.start);
+        block.bookings.forEach(booking -> blocksByBooking.remove(booking.getId()));
+    }
+
+    /**
+     * Блок занятости — объединение пересекающихся бронирований.
+     */
+    @Getter
+    public static class Block {
+        private final LocalDateTime start;
+        private LocalDateTime end;
+        @Getter(AccessLevel.NONE)
+        private final List<BookingInterval> bookings = new ArrayList<>(1);
+
+        Block(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Свободный период [start, end).
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class FreeSlot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Interval implements BookingInterval {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+}
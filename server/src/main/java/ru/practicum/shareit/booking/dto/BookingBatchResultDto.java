@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+/**
+ * Класс <b>BookingBatchResultDto</b> — результат обработки одного решения при пакетном подтверждении:
+ * <p><b>Index</b> — Поле номер решения в пакете, начиная с 0;</p>
+ * <p><b>Booking</b> — Поле бронирование {@link ResponseBookingDto} с новым статусом, если решение применено;</p>
+ * <p><b>Error</b> — Поле причина, по которой решение не применено.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingBatchResultDto {
+    private int index;
+    private ResponseBookingDto booking;
+    private String error;
+}
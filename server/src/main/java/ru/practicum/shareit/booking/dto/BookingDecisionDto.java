@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+/**
+ * Класс <b>BookingDecisionDto</b> — решение владельца по одному бронированию при пакетном подтверждении:
+ * <p><b>BookingId</b> — Поле ID бронирования;</p>
+ * <p><b>Approved</b> — Поле true — подтвердить бронирование, false — отклонить.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingDecisionDto {
+    private Long bookingId;
+    private Boolean approved;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Проекция количества бронирований владельца по состояниям. Для владельца без бронирований
+ * все суммы, кроме allCount, равны null.
+ *
+ * @author Igor Ivanov
+ */
+public interface BookingSummaryView {
+    Long getAllCount();
+
+    Long getCurrentCount();
+
+    Long getPastCount();
+
+    Long getFutureCount();
+
+    Long getWaitingCount();
+
+    Long getRejectedCount();
+}
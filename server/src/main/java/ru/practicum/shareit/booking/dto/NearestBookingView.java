@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Проекция ближайшего бронирования вещи со свойствами:
+ * <p><b>ID</b> — Поле уникальный идентификатор бронирования;</p>
+ * <p><b>ItemId</b> — Поле ID забронированной вещи;</p>
+ * <p><b>BookerId</b> — Поле ID пользователя, который осуществляет бронирование;</p>
+ * <p><b>Type</b> — Поле тип бронирования: <b>LAST</b> — последнее завершенное, <b>NEXT</b> — следующее.</p>
+ *
+ * @author Igor Ivanov
+ */
+public interface NearestBookingView {
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    String getType();
+}
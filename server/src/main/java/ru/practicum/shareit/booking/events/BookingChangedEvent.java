@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.Set;
+
+/**
+ * Событие приложения об изменении бронирования. Публикуется сервисом в транзакции
+ * и доставляется подписчикам только после ее фиксации.
+ */
+@Getter
+@ToString
+public class BookingChangedEvent {
+    private final BookingEventType type;
+    private final ResponseBookingDto booking;
+    // Пользователь, который бронирует вещь, и владелец вещи
+    private final Set<Long> recipients;
+
+    public BookingChangedEvent(BookingEventType type, Booking booking) {
+        this.type = type;
+        this.booking = BookingMapper.toResponseBookingDto(booking);
+        this.recipients = Set.of(booking.getBooker().getId(), booking.getItem().getOwner().getId());
+    }
+
+    public BookingEventDto toDto(Long id) {
+        return new BookingEventDto(id, type, booking);
+    }
+}
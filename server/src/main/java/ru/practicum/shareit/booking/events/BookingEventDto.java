@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.*;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+
+/**
+ * Класс <b>BookingEventDto</b> — событие изменения бронирования, отправляемое в поток "/bookings/stream":
+ * <p><b>ID</b> — Поле порядковый номер события, передается клиенту как id события SSE;</p>
+ * <p><b>Type</b> — Поле тип события ({@link BookingEventType});</p>
+ * <p><b>Booking</b> — Поле бронирование после изменения ({@link ResponseBookingDto}).</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEventDto {
+    private Long id;
+    private BookingEventType type;
+    private ResponseBookingDto booking;
+}
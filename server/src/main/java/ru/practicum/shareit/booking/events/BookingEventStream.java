@@ -0,0 +1,276 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Поток событий бронирований для пользователей (Server-Sent Events).
+ * <p>Сервис бронирований публикует {@link BookingChangedEvent} в своей транзакции, Spring хранит события до ее
+ * фиксации и передает их сюда только после успешного commit — события отмененных изменений не отправляются.</p>
+ * <p>Последние <b>shareit.bookings.stream.replay-size</b> событий хранятся в памяти, чтобы при переподключении
+ * с заголовком Last-Event-ID клиент получил пропущенные события.</p>
+ * <p>Поток, зафиксировавший транзакцию, только ставит событие в очередь подписчика. Отправкой занимается пул из
+ * <b>shareit.bookings.stream.send-threads</b> потоков с очередью задач <b>shareit.bookings.stream.send-queue-size</b>.
+ * У каждого подписчика не больше replay-size неотправленных событий; подписчик, который не успевает их читать,
+ * отключается и при переподключении получает пропущенное по Last-Event-ID.</p>
+ * <p>Подписчик регистрируется до отправки пропущенных событий и под той же блокировкой, под которой событиям
+ * назначаются ID, поэтому события приходят по возрастанию ID и без повторов.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class BookingEventStream {
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Deque<Delivered> recent = new ArrayDeque<>();
+    private final ThreadPoolExecutor sender;
+    private final long timeoutMillis;
+    private final int replaySize;
+    private long lastId;
+
+    public BookingEventStream(@Value("${shareit.bookings.stream.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${shareit.bookings.stream.replay-size:1000}") int replaySize,
+                              @Value("${shareit.bookings.stream.send-threads:4}") int sendThreads,
+                              @Value("${shareit.bookings.stream.send-queue-size:10000}") int sendQueueSize) {
+        this.timeoutMillis = timeoutMillis;
+        this.replaySize = replaySize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "booking-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Подписка пользователя на события его бронирований и бронирований его вещей.
+     *
+     * @param lastEventId ID последнего полученного события, события после него отправляются сразу.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        return subscribe(userId, lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    /**
+     * Подписка с переданным emitter.
+     *
+     * @param lastEventId ID последнего полученного события, события после него отправляются сразу.
+     * @return переданный emitter.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(subscriber::discard);
+        emitter.onTimeout(subscriber::discard);
+        emitter.onError(e -> subscriber.discard());
+        synchronized (recent) {
+            subscribersByUser.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+            if (lastEventId != null) {
+                for (BookingEventDto event : getEventsAfter(userId, lastEventId)) {
+                    subscriber.enqueue(event);
+                }
+            }
+        }
+        log.info("STREAM: Пользователь с ID = {} подписан на события бронирований.", userId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<Long> recipients = event.getRecipients();
+        synchronized (recent) {
+            BookingEventDto dto = event.toDto(++lastId);
+            recent.addLast(new Delivered(recipients, dto));
+            while (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            for (Long userId : recipients) {
+                for (Subscriber subscriber : subscribersByUser.getOrDefault(userId, Set.of())) {
+                    subscriber.enqueue(dto);
+                }
+            }
+        }
+    }
+
+    /**
+     * События пользователя с ID больше lastEventId из сохраненных в памяти.
+     */
+    public List<BookingEventDto> getEventsAfter(Long userId, long lastEventId) {
+        List<BookingEventDto> events = new ArrayList<>();
+        synchronized (recent) {
+            for (Delivered delivered : recent) {
+                if (delivered.event.getId() > lastEventId && delivered.recipients.contains(userId)) {
+                    events.add(delivered.event);
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Комментарий SSE для поддержания соединения и удаления отключившихся клиентов. Подписчикам, которым
+     * еще отправляются события, комментарий не нужен.
+     */
+    @Scheduled(fixedDelayString = "${shareit.bookings.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * Очередь неотправленных событий одного emitter. Одновременно отправкой занимается не больше одного потока
+     * пула, поэтому события уходят в порядке постановки в очередь.
+     */
+    private class Subscriber implements Runnable {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private long lastQueuedId;
+        private boolean scheduled;
+        private boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(BookingEventDto event) {
+            SseEmitter.SseEventBuilder message = SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name("booking")
+                    .data(event);
+            synchronized (this) {
+                if (closed || event.getId() <= lastQueuedId) {
+                    return;
+                }
+                if (pending.size() >= replaySize) {
+                    log.info("STREAM: Пользователь с ID = {} не успевает получать события, подписка закрыта.",
+                            userId);
+                    close();
+                    return;
+                }
+                lastQueuedId = event.getId();
+                pending.addLast(message);
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed || scheduled) {
+                    return;
+                }
+                pending.addLast(SseEmitter.event().comment("heartbeat"));
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (scheduled || pending.isEmpty()) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                sender.execute(this);
+            } catch (RejectedExecutionException e) {
+                log.warn("STREAM: Очередь отправки событий заполнена, подписка пользователя с ID = {} закрыта.",
+                        userId);
+                synchronized (this) {
+                    scheduled = false;
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                SseEmitter.SseEventBuilder message;
+                synchronized (this) {
+                    message = pending.pollFirst();
+                    if (message == null || closed) {
+                        scheduled = false;
+                        if (closed) {
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("STREAM: Не удалось отправить событие пользователю с ID = {}: {}.", userId,
+                            e.getMessage());
+                    synchronized (this) {
+                        scheduled = false;
+                        discard();
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Закрытие подписки. Если событие сейчас отправляется, emitter завершит поток отправки: завершение
+         * ждет окончания отправки, а поток, зафиксировавший транзакцию, ждать не должен.
+         */
+        private synchronized void close() {
+            discard();
+            if (!scheduled) {
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Удаление подписки без завершения emitter: соединение уже закрыто или закрывается.
+         */
+        synchronized void discard() {
+            closed = true;
+            pending.clear();
+            remove(this);
+        }
+    }
+
+    private static class Delivered {
+        private final Set<Long> recipients;
+        private final BookingEventDto event;
+
+        Delivered(Set<Long> recipients, BookingEventDto event) {
+            this.recipients = recipients;
+            this.event = event;
+        }
+    }
+}
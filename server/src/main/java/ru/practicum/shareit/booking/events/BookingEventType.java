@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.events;
+
+public enum BookingEventType {
+    // Новый запрос на бронирование
+    CREATED,
+    // Бронирование подтверждено
+    APPROVED,
+    // Бронирование отклонено
+    REJECTED
+}
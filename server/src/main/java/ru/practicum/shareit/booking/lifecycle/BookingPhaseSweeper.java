@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.tx.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Перевод бронирований по фазам FUTURE → CURRENT → PAST ({@link BookingPhase}).
+ * <p>Переходы, которые наступят в ближайшее время (горизонт — два интервала пополнения), хранятся
+ * в {@link DelayQueue}. Раз в <b>shareit.bookings.sweeper.tick-ms</b> из очереди забираются наступившие переходы
+ * и применяются одним UPDATE на фазу, так что меняются только бронирования, пересекающие границу.</p>
+ * <p>Раз в <b>shareit.bookings.sweeper.refill-ms</b> очередь пополняется из БД по индексам (phase, booking_from)
+ * и (phase, booking_to), а пропущенные переходы, например за время остановки сервера, применяются запросами
+ * {@link BookingRepository#markStarted} и {@link BookingRepository#markFinished}. Новые бронирования добавляются
+ * в очередь сразу через {@link #track(Booking)}. Пополнение и добавление нового бронирования выполняются под одной
+ * блокировкой, иначе бронирование, зафиксированное во время пополнения, не попало бы ни в выборку из БД,
+ * ни в очередь.</p>
+ * <p>Фильтры CURRENT, PAST и FUTURE списков бронирований читают сохраненную фазу, поэтому без перевода они
+ * возвращали бы неверные результаты: перевод не отключается.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class BookingPhaseSweeper {
+    private final BookingRepository bookingRepository;
+    private final Duration horizon;
+    private final DelayQueue<Transition> queue = new DelayQueue<>();
+    private final Set<Transition> queued = ConcurrentHashMap.newKeySet();
+    // Граница загруженного горизонта, читается и меняется под refillLock
+    private final Lock refillLock = new ReentrantLock();
+    private LocalDateTime loadedUntil = LocalDateTime.MIN;
+
+    public BookingPhaseSweeper(BookingRepository bookingRepository,
+                               @Value("${shareit.bookings.sweeper.refill-ms:300000}") long refillMillis) {
+        this.bookingRepository = bookingRepository;
+        this.horizon = Duration.ofMillis(refillMillis * 2);
+    }
+
+    /**
+     * Добавление в очередь переходов нового бронирования, если они попадают в уже загруженный горизонт.
+     * <p>В транзакции переходы добавляются после ее фиксации, иначе UPDATE не увидит бронирование.</p>
+     */
+    public void track(Booking booking) {
+        AfterCommit.run(() -> enqueue(booking));
+    }
+
+    private void enqueue(Booking booking) {
+        refillLock.lock();
+        try {
+            if (!booking.getStart().isAfter(loadedUntil)) {
+                enqueue(new Transition(booking.getId(), BookingPhase.CURRENT, booking.getStart()));
+            }
+            if (!booking.getEnd().isAfter(loadedUntil)) {
+                enqueue(new Transition(booking.getId(), BookingPhase.PAST, booking.getEnd()));
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.sweeper.refill-ms:300000}")
+    @Transactional
+    public void refill() {
+        LocalDateTime now = LocalDateTime.now();
+        int finished = bookingRepository.markFinished(now);
+        int started = bookingRepository.markStarted(now);
+        if (finished + started > 0) {
+            log.info("SWEEPER: Пропущенные переходы: в CURRENT - {}, в PAST - {}.", started, finished);
+        }
+
+        LocalDateTime limit = now.plus(horizon);
+        refillLock.lock();
+        try {
+            for (BookingInterval booking : bookingRepository.findIntervalsByPhaseStartingBefore(BookingPhase.FUTURE,
+                    limit)) {
+                enqueue(new Transition(booking.getId(), BookingPhase.CURRENT, booking.getStart()));
+                if (!booking.getEnd().isAfter(limit)) {
+                    enqueue(new Transition(booking.getId(), BookingPhase.PAST, booking.getEnd()));
+                }
+            }
+            for (BookingInterval booking : bookingRepository.findIntervalsByPhaseEndingBefore(BookingPhase.CURRENT,
+                    limit)) {
+                enqueue(new Transition(booking.getId(), BookingPhase.PAST, booking.getEnd()));
+            }
+            loadedUntil = limit;
+        } finally {
+            refillLock.unlock();
+        }
+        log.debug("SWEEPER: Очередь переходов пополнена до {}, переходов в очереди: {}.", limit, queue.size());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.sweeper.tick-ms:1000}")
+    @Transactional
+    public void sweep() {
+        List<Transition> due = new ArrayList<>();
+        queue.drainTo(due);
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<BookingPhase, List<Long>> idsByPhase = new EnumMap<>(BookingPhase.class);
+        for (Transition transition : due) {
+            queued.remove(transition);
+            idsByPhase.computeIfAbsent(transition.getPhase(), phase -> new ArrayList<>()).add(transition.getBookingId());
+        }
+        List<Long> finished = idsByPhase.get(BookingPhase.PAST);
+        if (finished != null) {
+            bookingRepository.updatePhase(BookingPhase.PAST, finished,
+                    List.of(BookingPhase.FUTURE, BookingPhase.CURRENT));
+        }
+        List<Long> started = idsByPhase.get(BookingPhase.CURRENT);
+        if (started != null) {
+            bookingRepository.updatePhase(BookingPhase.CURRENT, started, List.of(BookingPhase.FUTURE));
+        }
+        log.debug("SWEEPER: Применено переходов: {}.", due.size());
+    }
+
+    private void enqueue(Transition transition) {
+        if (queued.add(transition)) {
+            queue.add(transition);
+        }
+    }
+
+    /**
+     * Переход бронирования в фазу phase в момент at.
+     */
+    @Getter
+    @EqualsAndHashCode(of = {"bookingId", "phase"})
+    static class Transition implements Delayed {
+        private final Long bookingId;
+        private final BookingPhase phase;
+        private final LocalDateTime at;
+
+        Transition(Long bookingId, BookingPhase phase, LocalDateTime at) {
+            this.bookingId = bookingId;
+            this.phase = phase;
+            this.at = at;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), at).toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return at.compareTo(((Transition) other).at);
+        }
+    }
+}
@@ -14,20 +14,28 @@ import java.time.LocalDateTime;
  * <p><b>End</b> — Поле дата и время конца бронирования;</p>
  * <p><b>Item</b> — Вещь, объект класса {@link Item},, которую пользователь бронирует;</p>
  * <p><b>Booker</b> — Пользователь, объект класса {@link User}, который осуществляет бронирование;</p>
- * <p><b>Status</b> — Поле статус бронирования ({@link BookingStatus}).</p>
+ * <p><b>Status</b> — Поле статус бронирования ({@link BookingStatus});</p>
+ * <p><b>Phase</b> — Поле фаза бронирования по времени ({@link BookingPhase}), при сохранении нового бронирования
+ * вычисляется по текущему времени, дальше ее меняет {@link ru.practicum.shareit.booking.lifecycle.BookingPhaseSweeper}.</p>
  * <p>Уникальность определяется по ID бронирования.</p>
+ * <p>Граф <b>Booking.details</b> загружает вещь, ее владельца и пользователя одним запросом с бронированием.</p>
  * <p>Класс поддерживает {@link Builder}. Значения по умолчанию: <b>Status = {@link BookingStatus#WAITING WAITING}</b>.</p>
  *
  * @author Igor Ivanov
  */
 @Entity
 @Table(name = "bookings", schema = "public")
+@NamedEntityGraph(name = Booking.DETAILS_GRAPH,
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String DETAILS_GRAPH = "Booking.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", columnDefinition = "bigint")
@@ -43,4 +51,13 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private BookingStatus status = BookingStatus.WAITING;
+    @Enumerated(EnumType.STRING)
+    private BookingPhase phase;
+
+    @PrePersist
+    void initPhase() {
+        if (phase == null && start != null && end != null) {
+            phase = BookingPhase.of(start, end, LocalDateTime.now());
+        }
+    }
 }
\ No newline at end of file
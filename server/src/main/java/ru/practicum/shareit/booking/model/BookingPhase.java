@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Фаза жизненного цикла бронирования по времени, хранится в столбце bookings.phase.
+ */
+public enum BookingPhase {
+    // Бронирование еще не началось
+    FUTURE,
+    // Бронирование идет сейчас
+    CURRENT,
+    // Бронирование завершено
+    PAST;
+
+    public static BookingPhase of(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (!now.isBefore(end)) {
+            return PAST;
+        }
+        if (!now.isBefore(start)) {
+            return CURRENT;
+        }
+        return FUTURE;
+    }
+}
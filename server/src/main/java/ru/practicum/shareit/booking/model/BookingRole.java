@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Роль пользователя в бронировании, по которой выбираются его бронирования.
+ */
+public enum BookingRole {
+    // Пользователь, который бронирует вещь
+    BOOKER,
+    // Владелец вещи
+    OWNER
+}
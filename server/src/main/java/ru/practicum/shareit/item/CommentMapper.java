@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
 @Component
@@ -16,6 +17,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public static CommentDto toDto(CommentView comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .created(comment.getCreated())
+                .authorName(comment.getAuthorName())
+                .build();
+    }
+
     public static Comment fromDto(CommentDto commentDto) {
         return Comment.builder()
                 .id(commentDto.getId())
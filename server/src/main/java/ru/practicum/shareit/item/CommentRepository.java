@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -14,4 +18,28 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             "where (c.item.id = ?1)")
     List<CommentDto> getComments(Long id);
 
+    @Query(value = "select t.item_id as itemId, t.id as id, t.text as text, t.author_name as authorName, " +
+            "t.created as created " +
+            "from (select c.item_id, c.id, c.text, u.name as author_name, c.created, " +
+            "row_number() over (partition by c.item_id order by c.created desc, c.id desc) as rn " +
+            "from comments c " +
+            "join users u on u.id = c.author_name_id " +
+            "where c.item_id in (?1)) t " +
+            "where t.rn <= ?2 " +
+            "order by t.item_id, t.created desc, t.id desc",
+            nativeQuery = true)
+    List<CommentView> getNewestCommentsByItemIds(Collection<Long> itemIds, int limit);
+
+    @Query("select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.authorName.name, c.created) " +
+            "from Comment as c " +
+            "where c.item.id = ?1 " +
+            "order by c.created desc, c.id desc")
+    List<CommentDto> getCommentsPage(Long itemId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.authorName.name, c.created) " +
+            "from Comment as c " +
+            "where c.item.id = ?1 and (c.created < ?2 or (c.created = ?2 and c.id < ?3)) " +
+            "order by c.created desc, c.id desc")
+    List<CommentDto> getCommentsPageAfter(Long itemId, LocalDateTime created, Long id, Pageable pageable);
+
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.tx.AfterCommit;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Кэш вещей по ID, работающий по принципу read-through перед {@link ItemRepository}.
+ * <p>Размер кэша ограничен свойством <b>shareit.cache.items.maximum-size</b>, время жизни записи —
+ * <b>shareit.cache.items.ttl</b>. Записи удаляются при изменении вещи, а также при изменении и удалении
+ * ее владельца — сразу и повторно после завершения транзакции. Вещь, загруженная в транзакции, которая затем
+ * откатилась, в кэше не остается.</p>
+ * <p>В кэше хранятся отсоединенные копии вещей с копией владельца, каждый вызов получает свою копию: изменения,
+ * сделанные вызывающим, не видны другим потокам и не попадают в кэш.</p>
+ * <p>Статистика попаданий, промахов и вытеснений доступна через метрики actuator
+ * <b>cache.gets</b>, <b>cache.evictions</b> и <b>cache.size</b> с тегом <b>cache=items</b>.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class ItemCache {
+    private final ItemRepository itemRepository;
+    private final Cache<Long, Item> cache;
+
+    public ItemCache(ItemRepository itemRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${shareit.cache.items.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.cache.items.ttl:10m}") Duration ttl) {
+        this.itemRepository = itemRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items");
+    }
+
+    /**
+     * Получение вещи по ID. При отсутствии в кэше вещь загружается из БД.
+     *
+     * @param itemId ID вещи.
+     * @return {@link Optional} с вещью или пустой, если вещь не найдена.
+     */
+    public Optional<Item> getItemById(Long itemId) {
+        return Optional.ofNullable(cache.get(itemId, this::load)).map(ItemCache::copyOf);
+    }
+
+    /**
+     * Загрузка вещи из БД. Вещь, прочитанная внутри транзакции, удаляется из кэша, если транзакция
+     * не зафиксирована: вещь могла быть добавлена или изменена в этой же транзакции.
+     */
+    private Item load(Long itemId) {
+        Item item = itemRepository.getItemById(itemId).map(ItemCache::copyOf).orElse(null);
+        if (item != null) {
+            AfterCommit.onCompletion(status -> {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    cache.invalidate(itemId);
+                }
+            });
+        }
+        return item;
+    }
+
+    /**
+     * Удаление вещи из кэша сразу и повторно после завершения текущей транзакции: иначе параллельный
+     * запрос может успеть загрузить в кэш вещь до фиксации изменений.
+     */
+    public void evict(Long itemId) {
+        log.info("CACHE: Вещь с ID = {} удалена из кэша.", itemId);
+        cache.invalidate(itemId);
+        AfterCommit.onCompletion(status -> cache.invalidate(itemId));
+    }
+
+    /**
+     * Удаление вещей владельца из кэша сразу и повторно после завершения текущей транзакции.
+     */
+    public void evictByOwnerId(Long ownerId) {
+        log.info("CACHE: Вещи пользователя с ID = {} удалены из кэша.", ownerId);
+        removeByOwnerId(ownerId);
+        AfterCommit.onCompletion(status -> removeByOwnerId(ownerId));
+    }
+
+    /**
+     * Удаление из кэша вещей удаленного пользователя после фиксации транзакции.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        log.info("CACHE: Вещи удаленного пользователя с ID = {} удалены из кэша.", event.getUserId());
+        cache.invalidateAll(event.getItemIds());
+    }
+
+    private static Item copyOf(Item item) {
+        User owner = item.getOwner();
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                owner == null ? null : new User(owner.getId(), owner.getName(), owner.getEmail()),
+                item.getRequestId(), item.getCommentsCount());
+    }
+
+    private void removeByOwnerId(Long ownerId) {
+        cache.asMap().values().removeIf(item -> item.getOwner() != null && ownerId.equals(item.getOwner().getId()));
+    }
+}
@@ -3,12 +3,18 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -30,18 +36,26 @@ public class ItemController {
     /**
      * Метод обработки запроса на получение списка всех вещей пользователя.
      *
+     * <p>Если передан параметр <b>after</b>, выдача идет по курсору, курсор следующей страницы
+     * возвращается в заголовке {@value CursorPage#NEXT_CURSOR_HEADER}.</p>
+     *
      * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param after  курсор страницы, пустое значение для первой страницы.
      * @return {@link List} содержащий {@link ItemDto}
      */
     @GetMapping
-    public List<ItemDtoWithBooking> getAllItemsForOwnerWithId(
+    public ResponseEntity<List<ItemDtoWithBooking>> getAllItemsForOwnerWithId(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        log.info("CONTROLLER: Запрос на получение списка с информацией всех вещей пользователя с ID = {}.", userId);
+        if (after != null) {
+            return itemService.getAllItemsForOwnerWithId(userId, after, size).toResponseEntity();
+        }
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        log.info("CONTROLLER: Запрос на получение списка с информацией всех вещей пользователя с ID = {}.", userId);
-        return itemService.getAllItemsForOwnerWithId(userId, pageRequest);
+        return ResponseEntity.ok(itemService.getAllItemsForOwnerWithId(userId, pageRequest));
     }
 
     /**
@@ -60,18 +74,80 @@ public class ItemController {
     /**
      * Метод обработки запроса на поиск вещи.
      *
-     * @param text текс запроса поиска.
+     * <p>Если передан параметр <b>after</b>, выдача идет по курсору, курсор следующей страницы
+     * возвращается в заголовке {@value CursorPage#NEXT_CURSOR_HEADER}.</p>
+     *
+     * @param text  текс запроса поиска.
+     * @param after курсор страницы, пустое значение для первой страницы.
      * @return {@link ItemDto}
      */
     @GetMapping("/search")
-    public List<ItemDto> searchItemsByNameOrDescriptionContainingTextIgnoreCaseAndAvailable(
+    public ResponseEntity<List<ItemDto>> searchItemsByNameOrDescriptionContainingTextIgnoreCaseAndAvailable(
             @RequestParam(value = "text", defaultValue = "") String text,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        log.info("CONTROLLER: Запрос на поиск вещи в имени или описании содержащей текст: {}.", text);
+        if (after != null) {
+            return itemService.searchItemByText(text, after, size).toResponseEntity();
+        }
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        log.info("CONTROLLER: Запрос на поиск вещи в имени или описании содержащей текст: {}.", text);
-        return itemService.searchItemByText(text, pageRequest);
+        return ResponseEntity.ok(itemService.searchItemByText(text, pageRequest));
+    }
+
+    /**
+     * Метод обработки запроса на подсказки для автодополнения названия вещи.
+     *
+     * @param prefix начало названия, набранное пользователем.
+     * @param size   количество подсказок.
+     * @return {@link List} слов из названий доступных вещей, самые частые первыми.
+     */
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(
+            @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+        log.info("CONTROLLER: Запрос на подсказки для префикса: {}.", prefix);
+        return itemService.suggestItemNames(prefix, size);
+    }
+
+    /**
+     * Метод обработки запроса на получение комментариев к вещи.
+     * <p>Комментарии выдаются от новых к старым, курсор следующей страницы возвращается
+     * в заголовке {@value CursorPage#NEXT_CURSOR_HEADER}.</p>
+     *
+     * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param itemId ID вещи, передается через переменную пути.
+     * @param after  курсор страницы, пустое значение для первой страницы.
+     * @return {@link List} {@link CommentDto}
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam(value = "after", required = false, defaultValue = "") String after,
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+        log.info("CONTROLLER: Запрос на получение комментариев к вещи с ID = {}.", itemId);
+        return itemService.getComments(userId, itemId, after, size).toResponseEntity();
+    }
+
+    /**
+     * Метод обработки запроса на получение свободных для бронирования периодов вещи.
+     *
+     * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param itemId ID вещи, передается через переменную пути.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return {@link List} {@link AvailabilitySlotDto}
+     */
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilitySlotDto> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("CONTROLLER: Запрос на получение свободных периодов вещи с ID = {} с {} по {}.", itemId, from, to);
+        return itemService.getAvailability(userId, itemId, from, to);
     }
 
     // POST запросы
@@ -90,6 +166,20 @@ public class ItemController {
         return itemService.addItemForUserWithId(itemDto, userId);
     }
 
+    /**
+     * Метод обработки запроса на пакетное добавление вещей пользователя.
+     *
+     * @param itemDtoList список {@link ItemDto}, передается через тело запроса.
+     * @param userId      ID владельца вещей, передается через заголовок запроса "X-Sharer-User-Id".
+     * @return {@link List} {@link ItemBatchResultDto} — результат по каждой вещи.
+     */
+    @PostMapping("/batch")
+    public List<ItemBatchResultDto> addItemsForUserWithId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                          @RequestBody List<ItemDto> itemDtoList) {
+        log.info("CONTROLLER: Запрос на добавление {} вещей для пользователя с ID = {}.", itemDtoList.size(), userId);
+        return itemService.addItemsForUserWithId(itemDtoList, userId);
+    }
+
     /**
      * Метод обработки запроса на добавление комментария для вещи.
      *
@@ -25,7 +25,7 @@ public class ItemMapper {
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .owner(item.getOwner())
+                .ownerId(item.getOwner() == null ? null : item.getOwner().getId())
                 .requestId(item.getRequestId())
                 .build();
     }
@@ -42,6 +42,7 @@ public class ItemMapper {
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
+                .commentsCount(item.getCommentsCount())
                 .build();
     }
 
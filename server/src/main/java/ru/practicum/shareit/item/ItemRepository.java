@@ -1,18 +1,31 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
+import ru.practicum.shareit.item.search.RankedItem;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     Optional<Item> getItemById(Long id);
 
     List<Item> getItemsByOwnerId(Long userId, PageRequest pageRequest);
 
+    List<Item> getItemsByOwnerIdAndIdGreaterThanOrderById(Long userId, Long id, Pageable pageable);
+
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
     @Query("select i from Item i " +
             "where upper(i.name) like upper(concat('%', ?1, '%')) " +
             "or upper(i.description) like upper(concat('%', ?1, '%')) " +
@@ -21,5 +34,58 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                                                                                   Boolean available,
                                                                                   PageRequest pageRequest);
 
-    List<Item> getItemsByRequestId(Long requestId);
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.owner.id, i.requestId) " +
+            "from Item i where i.id in ?1")
+    List<ItemDto> getItemDtosByIds(Collection<Long> ids);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.owner.id, i.requestId) " +
+            "from Item i where i.requestId in ?1 order by i.requestId, i.id")
+    List<ItemDto> getItemsByRequestIdIn(Collection<Long> requestIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item i set i.commentsCount = i.commentsCount + 1 where i.id = ?1")
+    void incrementCommentsCount(Long itemId);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available " +
+            "from Item i order by i.id")
+    Slice<IndexedItem> findAllForIndex(Pageable pageable);
+
+    /**
+     * Обход всех вещей для построения индексов в памяти, из БД читается по batchSize вещей за запрос.
+     */
+    default void forEachForIndex(int batchSize, Consumer<IndexedItem> action) {
+        Slice<IndexedItem> slice = findAllForIndex(PageRequest.of(0, batchSize));
+        slice.forEach(action);
+        while (slice.hasNext()) {
+            slice = findAllForIndex(slice.nextPageable());
+            slice.forEach(action);
+        }
+    }
+
+    @Query(value = "select i.id from items i " +
+            "cross join (select to_tsquery('russian', ?1) || to_tsquery('english', ?1) as query) q " +
+            "where i.available = true and i.search_vector @@ q.query " +
+            "order by ts_rank(i.search_vector, q.query) desc, i.id",
+            nativeQuery = true)
+    List<Number> fullTextSearch(String tsQuery, Pageable pageable);
+
+    @Query(value = "select i.id as id, ts_rank(i.search_vector, q.query) as rank from items i " +
+            "cross join (select to_tsquery('russian', ?1) || to_tsquery('english', ?1) as query) q " +
+            "where i.available = true and i.search_vector @@ q.query " +
+            "order by rank desc, i.id " +
+            "limit ?2",
+            nativeQuery = true)
+    List<RankedItem> fullTextSearchFirst(String tsQuery, int limit);
+
+    @Query(value = "select t.id, t.rank from (" +
+            "select i.id as id, ts_rank(i.search_vector, q.query) as rank from items i " +
+            "cross join (select to_tsquery('russian', ?1) || to_tsquery('english', ?1) as query) q " +
+            "where i.available = true and i.search_vector @@ q.query) t " +
+            "where t.rank < ?2 or (t.rank = ?2 and t.id > ?3) " +
+            "order by t.rank desc, t.id " +
+            "limit ?4",
+            nativeQuery = true)
+    List<RankedItem> fullTextSearchAfter(String tsQuery, float rank, long id, int limit);
 }
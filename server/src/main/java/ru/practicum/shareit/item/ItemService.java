@@ -1,22 +1,38 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     List<ItemDtoWithBooking> getAllItemsForOwnerWithId(Long userId, PageRequest pageRequest);
 
+    CursorPage<ItemDtoWithBooking> getAllItemsForOwnerWithId(Long userId, String after, Integer size);
+
     ItemDtoWithBooking getItemById(Long userId, Long itemId);
 
     ItemDto addItemForUserWithId(ItemDto itemDto, Long userId);
 
+    List<ItemBatchResultDto> addItemsForUserWithId(List<ItemDto> itemDtoList, Long userId);
+
     ItemDto updateItemForUserWithId(ItemDto itemDto, Long userId);
 
     List<ItemDto> searchItemByText(String text, PageRequest pageRequest);
 
+    CursorPage<ItemDto> searchItemByText(String text, String after, Integer size);
+
+    List<String> suggestItemNames(String prefix, Integer size);
+
     CommentDto addComment(Long userId, CommentDto commentDto, Long itemId);
+
+    CursorPage<CommentDto> getComments(Long userId, Long itemId, String after, Integer size);
+
+    List<AvailabilitySlotDto> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
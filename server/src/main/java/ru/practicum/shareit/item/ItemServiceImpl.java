@@ -2,27 +2,47 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.availability.AvailabilityEngine;
+import ru.practicum.shareit.booking.dto.NearestBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserDirectory;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,9 +51,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final RequestRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemCache itemCache;
+    private final AvailabilityEngine availabilityEngine;
+
+    @Value("${shareit.items.comments.preview-size:10}")
+    private int commentsPreviewSize;
 
     /**
      * Метод получения списка всех вещей пользователя.
@@ -49,17 +78,46 @@ public class ItemServiceImpl implements ItemService {
 
         List<ItemDtoWithBooking> itemDtoWithBookingList = itemRepository.getItemsByOwnerId(userId, pageRequest).stream()
                 .map(ItemMapper::toItemDtoWithBooking)
-                .peek(item -> {
-                    setLastBooking(userId, item);
-                    setNextBooking(userId, item);
-                    setComments(item);
-                })
                 .collect(Collectors.toUnmodifiableList());
+        setBookingsAndComments(userId, itemDtoWithBookingList);
 
         log.info("SERVICE: Отправка списка с информацией всех вещей пользователя с ID = {}.", userId);
         return itemDtoWithBookingList;
     }
 
+    /**
+     * Метод получения страницы списка вещей пользователя по курсору.
+     * <p>Вещи упорядочены по ID, страница начинается сразу после ID из курсора,
+     * поэтому стоимость запроса не зависит от номера страницы.</p>
+     *
+     * @param userId ID пользователя.
+     * @param after  курсор из предыдущей страницы, пустая строка для первой страницы.
+     * @param size   размер страницы.
+     * @return {@link CursorPage} содержащий {@link ItemDtoWithBooking}
+     */
+    @Override
+    public CursorPage<ItemDtoWithBooking> getAllItemsForOwnerWithId(Long userId, String after, Integer size) {
+        log.info("SERVICE: Обработка запроса на получение страницы вещей пользователя с ID = {} после курсора: {}.",
+                userId, after);
+
+        checkUserIdInDbAndReturnUser(userId);
+
+        List<Item> items = itemRepository.getItemsByOwnerIdAndIdGreaterThanOrderById(userId, Cursor.decodeId(after),
+                PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            nextCursor = items.isEmpty() ? null : Cursor.encode(items.get(items.size() - 1).getId());
+        }
+        List<ItemDtoWithBooking> itemDtoWithBookingList = items.stream()
+                .map(ItemMapper::toItemDtoWithBooking)
+                .collect(Collectors.toUnmodifiableList());
+        setBookingsAndComments(userId, itemDtoWithBookingList);
+
+        log.info("SERVICE: Отправка страницы вещей пользователя с ID = {}.", userId);
+        return new CursorPage<>(itemDtoWithBookingList, nextCursor);
+    }
+
     /**
      * Метод получения информации о вещи.
      *
@@ -71,9 +129,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("SERVICE: Обработка запроса запроса на получение информации о вещи с ID = {}.", itemId);
         checkUserIdInDbAndReturnUser(userId);
         ItemDtoWithBooking item = ItemMapper.toItemDtoWithBooking(checkItemInDbAndReturnItem(itemId));
-        setLastBooking(userId, item);
-        setNextBooking(userId, item);
-        setComments(item);
+        setBookingsAndComments(userId, List.of(item));
 
         log.info("SERVICE: Отправка информации о вещи с ID = {}.", itemId);
         return item;
@@ -88,19 +144,50 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDto> searchItemByText(String text, PageRequest pageRequest) {
         log.info("SERVICE: Обработка запроса на поиск вещи в имени или описании содержащей текст: {}.", text);
-        if (text.equals("")) {
+        if (text.isBlank()) {
             log.info("SERVICE: Отправка пустого списка. Строка поиска пустая.");
             return Collections.emptyList();
         } else {
             log.info("SERVICE: Отправка информации о вещи в имени или описании содержащей текст: {}.", text);
-            return itemRepository.searchItemsByNameOrDescriptionContainingTextIgnoreCaseAndAvailable(
-                            text,
-                            true,
-                            pageRequest)
-                    .stream()
-                    .map(ItemMapper::toItemDto)
-                    .collect(Collectors.toUnmodifiableList());
+            return itemSearchCache.get(text, pageRequest,
+                    () -> loadAvailableItems(itemSearchEngine.search(text, pageRequest)));
+        }
+    }
+
+    /**
+     * Метод обработки запроса на поиск вещи с постраничной выдачей по курсору.
+     *
+     * @param text  текст запроса.
+     * @param after курсор из предыдущей страницы, пустая строка для первой страницы.
+     * @param size  размер страницы.
+     * @return {@link CursorPage} {@link ItemDto}
+     */
+    @Override
+    public CursorPage<ItemDto> searchItemByText(String text, String after, Integer size) {
+        log.info("SERVICE: Обработка запроса на поиск вещи содержащей текст: {} после курсора: {}.", text, after);
+        if (text.isBlank()) {
+            log.info("SERVICE: Отправка пустого списка. Строка поиска пустая.");
+            return new CursorPage<>(Collections.emptyList(), null);
         }
+        return itemSearchCache.get(text, after, size, () -> {
+            CursorPage<Long> page = itemSearchEngine.search(text, after, size);
+            return new CursorPage<>(loadAvailableItems(page.getContent()), page.getNextCursor());
+        });
+    }
+
+    /**
+     * Метод обработки запроса на подсказки для автодополнения названия вещи.
+     * <p>Подсказки строятся в памяти, транзакция не открывается и к БД запрос не обращается.</p>
+     *
+     * @param prefix начало названия.
+     * @param size   количество подсказок.
+     * @return {@link List} слов из названий доступных вещей.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestItemNames(String prefix, Integer size) {
+        log.info("SERVICE: Обработка запроса на подсказки для префикса: {}.", prefix);
+        return itemNameSuggester.suggest(prefix, size);
     }
 
     /**
@@ -117,8 +204,71 @@ public class ItemServiceImpl implements ItemService {
         Item newItem = ItemMapper.fromDto(itemDto);
         newItem.setOwner(checkUserIdInDbAndReturnUser(userId));
 
+        newItem = itemRepository.save(newItem);
+        itemSearchEngine.index(newItem);
+        itemSearchCache.evictItem(newItem.getName(), newItem.getDescription());
+        itemNameSuggester.index(newItem);
+
         log.info("SERVICE: Новая вещь: {} для пользователя с ID = {} - добавлена.", itemDto, userId);
-        return ItemMapper.toItemDto(itemRepository.save(newItem));
+        return ItemMapper.toItemDto(newItem);
+    }
+
+    /**
+     * Метод обработки запроса на пакетное добавление вещей пользователя.
+     * <p>Каждая вещь проверяется отдельно, вещи с ошибками не добавляются. Остальные вещи сохраняются
+     * в одной транзакции пакетными вставками JDBC, ID выделяются последовательностью <b>items_seq</b>.</p>
+     *
+     * @param itemDtoList список {@link ItemDto}, передается через тело запроса.
+     * @param userId      ID владельца вещей, передается через заголовок запроса "X-Sharer-User-Id".
+     * @return {@link List} {@link ItemBatchResultDto} — результат по каждой вещи в порядке пакета.
+     */
+    @Override
+    @Transactional
+    public List<ItemBatchResultDto> addItemsForUserWithId(List<ItemDto> itemDtoList, Long userId) {
+        log.info("SERVICE: Обработка запроса на добавление {} вещей для пользователя с ID = {}.",
+                itemDtoList.size(), userId);
+        User owner = checkUserIdInDbAndReturnUser(userId);
+
+        Set<Long> requestIds = requestRepository.findAllById(itemDtoList.stream()
+                        .map(ItemDto::getRequestId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .map(Request::getId)
+                .collect(Collectors.toSet());
+
+        List<ItemBatchResultDto> results = new ArrayList<>(itemDtoList.size());
+        List<Item> newItems = new ArrayList<>();
+        for (int i = 0; i < itemDtoList.size(); i++) {
+            ItemDto itemDto = itemDtoList.get(i);
+            String error = validateNewItem(itemDto, requestIds);
+            if (error != null) {
+                results.add(ItemBatchResultDto.builder().index(i).error(error).build());
+                continue;
+            }
+            Item newItem = ItemMapper.fromDto(itemDto);
+            newItem.setId(null);
+            newItem.setOwner(owner);
+            newItems.add(newItem);
+            results.add(ItemBatchResultDto.builder().index(i).build());
+        }
+
+        newItems = itemRepository.saveAll(newItems);
+        itemRepository.flush();
+
+        int next = 0;
+        for (ItemBatchResultDto result : results) {
+            if (result.getError() == null) {
+                Item newItem = newItems.get(next++);
+                itemSearchEngine.index(newItem);
+                itemSearchCache.evictItem(newItem.getName(), newItem.getDescription());
+                itemNameSuggester.index(newItem);
+                result.setItem(ItemMapper.toItemDto(newItem));
+            }
+        }
+
+        log.info("SERVICE: Для пользователя с ID = {} добавлено вещей: {} из {}.",
+                userId, newItems.size(), itemDtoList.size());
+        return results;
     }
 
     /**
@@ -136,10 +286,21 @@ public class ItemServiceImpl implements ItemService {
 
         checkUserIdInDbAndReturnUser(userId);
 
-        Item itemInDb = checkItemInDbAndReturnItem(itemDto.getId());
+        Item itemInDb = itemRepository.getItemById(itemDto.getId())
+                .orElseThrow(() -> {
+                    log.error("SERVICE: Вещь с ID = {} - не найдена.", itemDto.getId());
+                    throw new NotFoundException("Вещь с ID = " + itemDto.getId() + " не найдена.");
+                });
         if (itemInDb.getOwner().getId().equals(userId)) {
+            String oldName = itemInDb.getName();
+            String oldDescription = itemInDb.getDescription();
             copyFields(itemDto, itemInDb);
             itemRepository.save(itemInDb);
+            itemCache.evict(itemInDb.getId());
+            itemSearchEngine.index(itemInDb);
+            itemSearchCache.evictItem(oldName, oldDescription);
+            itemSearchCache.evictItem(itemInDb.getName(), itemInDb.getDescription());
+            itemNameSuggester.index(itemInDb);
             return ItemMapper.toItemDto(itemInDb);
         } else {
             log.error("SERVICE: Пользователю с ID = {} не принадлежит вещь с ID = {}.", userId, itemDto.getId());
@@ -172,10 +333,12 @@ public class ItemServiceImpl implements ItemService {
 
         if (authorBookings.size() > 0) {
             Comment comment = CommentMapper.fromDto(commentDto);
-            comment.setCreated(LocalDateTime.now());
+            comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
             comment.setAuthorName(author);
             comment.setItem(item);
             commentRepository.save(comment);
+            itemRepository.incrementCommentsCount(itemId);
+            itemCache.evict(itemId);
             log.info("SERVICE: Комментарий: {}, пользователем с ID = {}, для вещи с ID = {} - добавлен.",
                     commentDto.getText(), authorId, itemId);
             return CommentMapper.toDto(comment);
@@ -185,31 +348,153 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void setLastBooking(Long userId, ItemDtoWithBooking item) {
-        Pageable pageRequest = PageRequest.of(0, 1, Sort.by(("end")));
-        List<Booking> bookings = bookingRepository.getLastBooking(userId, item.getId(), pageRequest);
-        if (bookings.size() == 0) {
-            item.setLastBooking(null);
+    /**
+     * Метод обработки запроса на получение страницы комментариев к вещи.
+     * <p>Комментарии упорядочены от новых к старым, курсор содержит дату и ID последнего комментария страницы.</p>
+     *
+     * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
+     * @param itemId ID вещи, передается через переменную пути.
+     * @param after  курсор из предыдущей страницы, пустая строка для первой страницы.
+     * @param size   размер страницы.
+     * @return {@link CursorPage} {@link CommentDto}
+     */
+    @Override
+    public CursorPage<CommentDto> getComments(Long userId, Long itemId, String after, Integer size) {
+        log.info("SERVICE: Обработка запроса на получение комментариев к вещи с ID = {} после курсора: {}.",
+                itemId, after);
+        checkUserIdInDbAndReturnUser(userId);
+        checkItemInDbAndReturnItem(itemId);
+
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<CommentDto> comments;
+        if (after == null || after.isEmpty()) {
+            comments = commentRepository.getCommentsPage(itemId, pageRequest);
         } else {
-            item.setLastBooking(new ItemDtoWithBooking
-                    .ItemBookingDto(bookings.get(0).getId(), bookings.get(0).getBooker().getId()));
+            String[] values = Cursor.decode(after, 2);
+            try {
+                comments = commentRepository.getCommentsPageAfter(itemId, LocalDateTime.parse(values[0]),
+                        Long.parseLong(values[1]), pageRequest);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Некорректный курсор: " + after + ".");
+            }
+        }
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            if (!comments.isEmpty()) {
+                CommentDto last = comments.get(comments.size() - 1);
+                nextCursor = Cursor.encode(last.getCreated(), last.getId());
+            }
         }
+
+        log.info("SERVICE: Отправка комментариев к вещи с ID = {}.", itemId);
+        return new CursorPage<>(comments, nextCursor);
     }
 
-    private void setNextBooking(Long usrId, ItemDtoWithBooking item) {
-        Pageable pageRequest = PageRequest.of(0, 1, Sort.by(Sort.Order.desc("start")));
-        List<Booking> bookings = bookingRepository.getNextBooking(usrId, item.getId(), pageRequest);
-        if (bookings.size() == 0) {
-            item.setNextBooking(null);
-        } else {
-            item.setNextBooking(new ItemDtoWithBooking
-                    .ItemBookingDto(bookings.get(0).getId(), bookings.get(0).getBooker().getId()));
+    /**
+     * Метод обработки запроса на получение свободных для бронирования периодов вещи.
+     * <p>Периоды считаются по расписанию бронирований вещи в памяти ({@link AvailabilityEngine}) за один проход,
+     * поэтому запрос за несколько месяцев не дороже запроса за один день. Прошедшее время и время, когда вещь
+     * недоступна для аренды, свободными не считаются.</p>
+     *
+     * @param from начало периода.
+     * @param to   окончание периода, не входит в период.
+     * @return {@link List} {@link AvailabilitySlotDto} в порядке начала.
+     */
+    @Override
+    public List<AvailabilitySlotDto> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("SERVICE: Обработка запроса на получение свободных периодов вещи с ID = {} с {} по {}.",
+                itemId, from, to);
+        if (!from.isBefore(to)) {
+            log.error("SERVICE: Начало периода {} не раньше его окончания {}.", from, to);
+            throw new BadRequestException("Начало периода должно быть раньше его окончания.");
+        }
+        checkUserIdInDbAndReturnUser(userId);
+        Item item = checkItemInDbAndReturnItem(itemId);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!item.getAvailable() || !to.isAfter(now)) {
+            return Collections.emptyList();
+        }
+        List<AvailabilitySlotDto> slots = availabilityEngine.freeSlots(itemId, from.isAfter(now) ? from : now, to)
+                .stream()
+                .map(slot -> new AvailabilitySlotDto(slot.getStart(), slot.getEnd()))
+                .collect(Collectors.toList());
+
+        log.info("SERVICE: Отправка {} свободных периодов вещи с ID = {}.", slots.size(), itemId);
+        return slots;
+    }
+
+    /**
+     * Заполнение последнего и следующего бронирования, а также последних комментариев для списка вещей.
+     * <p>Независимо от размера списка выполняется два запроса: один за бронированиями, один за комментариями.
+     * Для каждой вещи возвращается не больше <b>shareit.items.comments.preview-size</b> последних комментариев,
+     * общее количество комментариев хранится в самой вещи.</p>
+     */
+    private void setBookingsAndComments(Long userId, List<ItemDtoWithBooking> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = items.stream()
+                .map(ItemDtoWithBooking::getId)
+                .collect(Collectors.toUnmodifiableList());
+
+        Map<Long, ItemDtoWithBooking.ItemBookingDto> lastBookings = new HashMap<>();
+        Map<Long, ItemDtoWithBooking.ItemBookingDto> nextBookings = new HashMap<>();
+        for (NearestBookingView booking : bookingRepository.getNearestBookings(userId, itemIds)) {
+            ItemDtoWithBooking.ItemBookingDto bookingDto =
+                    new ItemDtoWithBooking.ItemBookingDto(booking.getId(), booking.getBookerId());
+            if (NearestBookingView.LAST.equals(booking.getType())) {
+                lastBookings.put(booking.getItemId(), bookingDto);
+            } else {
+                nextBookings.put(booking.getItemId(), bookingDto);
+            }
+        }
+
+        Map<Long, List<CommentDto>> comments = commentRepository.getNewestCommentsByItemIds(itemIds, commentsPreviewSize).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toDto, Collectors.toUnmodifiableList())));
+
+        for (ItemDtoWithBooking item : items) {
+            item.setLastBooking(lastBookings.get(item.getId()));
+            item.setNextBooking(nextBookings.get(item.getId()));
+            item.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+        }
+    }
+
+    /**
+     * Загрузка найденных вещей одним запросом с сохранением порядка выдачи поиска.
+     * <p>Читаются только столбцы вещи, владелец не загружается.</p>
+     */
+    private List<ItemDto> loadAvailableItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
         }
+        Map<Long, ItemDto> items = itemRepository.getItemDtosByIds(itemIds).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(item -> item != null && item.getAvailable())
+                .collect(Collectors.toUnmodifiableList());
     }
 
-    private void setComments(ItemDtoWithBooking item) {
-        List<CommentDto> comments = commentRepository.getComments(item.getId());
-        item.setComments(comments);
+    private String validateNewItem(ItemDto itemDto, Set<Long> requestIds) {
+        if (itemDto == null) {
+            return "Вещь не передана.";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название вещи не должно быть пустым.";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание вещи не должно быть пустым.";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Доступность вещи должна быть указана.";
+        }
+        if (itemDto.getRequestId() != null && !requestIds.contains(itemDto.getRequestId())) {
+            return "Запрос с ID = " + itemDto.getRequestId() + " не найден.";
+        }
+        return null;
     }
 
     private void copyFields(ItemDto itemDto, Item itemInDb) {
@@ -234,7 +519,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private User checkUserIdInDbAndReturnUser(Long userId) {
-        return userRepository.findById(userId)
+        return userDirectory.getUserById(userId)
                 .orElseThrow(() -> {
                     log.error("SERVICE: Пользователь с ID = {} - не найден.", userId);
                     throw new NotFoundException("Пользователь с ID = " + userId + " не найден.");
@@ -242,7 +527,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private Item checkItemInDbAndReturnItem(Long itemId) {
-        return itemRepository.getItemById(itemId)
+        return itemCache.getItemById(itemId)
                 .orElseThrow(() -> {
                     log.error("SERVICE: Вещь с ID = {} - не найдена.", itemId);
                     throw new NotFoundException("Вещь с ID = " + itemId + " не найдена.");
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс <b>AvailabilitySlotDto</b> — период, в который вещь свободна для бронирования:
+ * <p><b>Start</b> — Поле начало свободного периода;</p>
+ * <p><b>End</b> — Поле окончание свободного периода, не входит в период.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilitySlotDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
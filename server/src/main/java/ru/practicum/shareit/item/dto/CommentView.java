@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция комментария вместе с ID вещи, к которой он оставлен.
+ * <p>Используется для загрузки комментариев сразу для нескольких вещей одним запросом.</p>
+ *
+ * @author Igor Ivanov
+ */
+public interface CommentView {
+    Long getItemId();
+
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+/**
+ * Класс <b>ItemBatchResultDto</b> — результат обработки одной вещи при пакетном добавлении:
+ * <p><b>Index</b> — Поле номер вещи в пакете, начиная с 0;</p>
+ * <p><b>Item</b> — Поле добавленная вещь {@link ItemDto}, если вещь добавлена;</p>
+ * <p><b>Error</b> — Поле причина, по которой вещь не добавлена.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemBatchResultDto {
+    private int index;
+    private ItemDto item;
+    private String error;
+}
@@ -1,7 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.*;
-import ru.practicum.shareit.user.model.User;
 
 /**
  * Класс <b>ItemDto</b> со свойствами:
@@ -9,7 +8,7 @@ import ru.practicum.shareit.user.model.User;
  * <p><b>Name</b> — Поле краткое название. Обязательное поле, размер не больше 150 символов;</p>
  * <p><b>Description</b> — Поле развёрнутое описание. Размер не больше 500 символов;</p>
  * <p><b>available</b> — Поле статус о том, доступна или нет вещь для аренды: true - доступна, false - нет;</p>
- * <p><b>Owner</b> — Владелец вещи, объект класс {@link User};<br>
+ * <p><b>OwnerId</b> — Поле ID владельца вещи;</p>
  * <p><b>Request</b> — Поле ID запроса, по которому была создана вещь. Значение 0 - вещь была создана не по запросу.</p>
  * <p>Класс поддерживает {@link Builder}. Значения по умолчанию: <b>Available = true</b>, <b>Request = 0</b>.</p>
  *
@@ -27,6 +26,6 @@ public class ItemDto {
     private String name;
     private String description;
     private Boolean available;
-    private User owner;
+    private Long ownerId;
     private Long requestId;
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ public class ItemDtoWithBooking {
     private ItemBookingDto lastBooking;
 
     private ItemBookingDto nextBooking;
+    private Integer commentsCount;
 
     private List<CommentDto> comments;
 
@@ -13,6 +13,7 @@ import javax.persistence.*;
  * <p><b>available</b> — Поле статус о том, доступна или нет вещь для аренды: true - доступна, false - нет;</p>
  * <p><b>Owner</b> — Владелец вещи, объект класс {@link User};<br>
  * <p><b>Request</b> — Поле ID запроса, по которому была создана вещь. Значение 0 - вещь была создана не по запросу.</p>
+ * <p><b>CommentsCount</b> — Поле количество комментариев к вещи, изменяется только запросом к БД при добавлении комментария.</p>
  * <p>Уникальность определяется по ID вещи.</p>
  * <p>Класс поддерживает {@link Builder}. Значения по умолчанию: <b>Available = true</b>, <b>Request = 0</b>.</p>
  *
@@ -28,7 +29,8 @@ import javax.persistence.*;
 @NoArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "id", columnDefinition = "bigint")
     private Long id;
     @Column(name = "name", nullable = false)
@@ -42,4 +44,7 @@ public class Item {
     private User owner;
     @Column(name = "request_id")
     private Long requestId;
+    @Column(name = "comments_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer commentsCount = 0;
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск вещей средствами полнотекстового поиска PostgreSQL.
+ * <p>Использует генерируемый столбец <b>items.search_vector</b> с GIN индексом (см. schema-postgresql.sql),
+ * построенный по русской и английской конфигурациям. Каждое слово запроса ищется как префикс,
+ * результаты упорядочены по релевантности ({@code ts_rank}).</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    /**
+     * Преобразование текста запроса в запрос tsquery: все слова как префиксы, объединенные по "И".
+     *
+     * @param text текст запроса.
+     * @return строка tsquery, пустая если в запросе нет слов.
+     */
+    public static String toTsQuery(String text) {
+        return ItemSearchIndex.tokenize(text).stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.info("SEARCH: Полнотекстовый поиск вещей по запросу: {}.", query);
+        return itemRepository.fullTextSearch(query, pageable == null ? Pageable.unpaged() : pageable).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Курсор содержит релевантность и ID последней вещи страницы: выдача продолжается с вещей
+     * меньшей релевантности или той же релевантности и большего ID.
+     */
+    @Override
+    public CursorPage<Long> search(String text, String after, int size) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        log.info("SEARCH: Полнотекстовый поиск вещей по запросу: {}, после: {}.", query, after);
+        List<RankedItem> items;
+        if (after == null || after.isEmpty()) {
+            items = itemRepository.fullTextSearchFirst(query, size + 1);
+        } else {
+            String[] values = Cursor.decode(after, 2);
+            try {
+                items = itemRepository.fullTextSearchAfter(query, Float.parseFloat(values[0]),
+                        Long.parseLong(values[1]), size + 1);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Некорректный курсор: " + after + ".");
+            }
+        }
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            if (!items.isEmpty()) {
+                RankedItem last = items.get(items.size() - 1);
+                nextCursor = Cursor.encode(last.getRank(), last.getId());
+            }
+        }
+        return new CursorPage<>(items.stream()
+                .map(RankedItem::getId)
+                .collect(Collectors.toUnmodifiableList()), nextCursor);
+    }
+
+    @Override
+    public void index(Item item) {
+        // Столбец search_vector пересчитывается самой БД.
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Проекция вещи с полями, которые попадают в поисковый индекс.
+ *
+ * @author Igor Ivanov
+ */
+public interface IndexedItem {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+}
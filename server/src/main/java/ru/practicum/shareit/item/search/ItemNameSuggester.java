@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.tx.AfterCommit;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Подсказки для автодополнения по словам из названий доступных вещей.
+ * <p>Слова хранятся в сжатом префиксном дереве {@link RadixTrie}, вес слова — количество доступных вещей,
+ * в названии которых оно встречается. Дерево строится из БД при старте приложения и обновляется
+ * при добавлении, изменении и удалении вещей (вместе с владельцем), поэтому запросы подсказок в БД не обращаются.
+ * Изменения применяются после фиксации транзакции: слова вещей из откаченной транзакции в подсказки не попадают.</p>
+ * <p>Количество подсказок ограничено свойством <b>shareit.suggest.max-size</b>, количество просматриваемых
+ * узлов дерева — <b>shareit.suggest.max-visited</b>, что ограничивает время ответа при коротких префиксах.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class ItemNameSuggester {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final int maxSize;
+    private final int maxVisited;
+
+    private final RadixTrie trie = new RadixTrie();
+    private final Map<Long, Set<String>> wordsByItem = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemNameSuggester(ItemRepository itemRepository,
+                             @Value("${shareit.suggest.max-size:10}") int maxSize,
+                             @Value("${shareit.suggest.max-visited:2000}") int maxVisited) {
+        this.itemRepository = itemRepository;
+        this.maxSize = maxSize;
+        this.maxVisited = maxVisited;
+    }
+
+    /**
+     * Построение дерева по всем вещам из БД.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("SUGGEST: Построение дерева подсказок по названиям вещей.");
+        itemRepository.forEachForIndex(REBUILD_BATCH_SIZE,
+                item -> index(item.getId(), item.getName(), item.getAvailable()));
+        log.info("SUGGEST: Дерево подсказок построено, вещей: {}.", wordsByItem.size());
+    }
+
+    /**
+     * Добавление или обновление слов названия вещи после фиксации текущей транзакции.
+     */
+    public void index(Item item) {
+        Long itemId = item.getId();
+        String name = item.getName();
+        Boolean available = item.getAvailable();
+        AfterCommit.run(() -> index(itemId, name, available));
+    }
+
+    /**
+     * Удаление слов названий вещей удаленного пользователя после фиксации транзакции.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        event.getItemIds().forEach(itemId -> index(itemId, null, false));
+    }
+
+    /**
+     * Добавление слов названия вещи в дерево или их обновление для уже добавленной вещи.
+     * <p>Слова недоступной вещи из дерева удаляются.</p>
+     */
+    public void index(Long itemId, String name, Boolean available) {
+        Set<String> words = Boolean.TRUE.equals(available) ? ItemSearchIndex.tokenize(name) : Collections.emptySet();
+
+        lock.writeLock().lock();
+        try {
+            Set<String> oldWords = wordsByItem.remove(itemId);
+            if (oldWords != null) {
+                oldWords.forEach(word -> trie.add(word, -1));
+            }
+            if (!words.isEmpty()) {
+                words.forEach(word -> trie.add(word, 1));
+                wordsByItem.put(itemId, words);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Подсказки для последнего слова префикса.
+     *
+     * @param prefix начало названия, набранное пользователем.
+     * @param size   количество подсказок, не больше <b>shareit.suggest.max-size</b>.
+     * @return {@link List} слов, самые частые первыми.
+     */
+    public List<String> suggest(String prefix, int size) {
+        List<String> words = List.copyOf(ItemSearchIndex.tokenize(prefix));
+        if (words.isEmpty() || size <= 0) {
+            return Collections.emptyList();
+        }
+        String lastWord = words.get(words.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            return trie.complete(lastWord, Math.min(size, maxSize), maxVisited);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
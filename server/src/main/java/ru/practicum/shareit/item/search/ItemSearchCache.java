@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.tx.AfterCommit;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов поиска вещей.
+ * <p>Ключ — нормализованный текст запроса (без пробелов по краям, в нижнем регистре) и страница выдачи.
+ * При добавлении или изменении вещи удаляются только те записи, текст запроса которых является подстрокой
+ * названия или описания вещи до или после изменения — именно такие запросы находят вещь.
+ * Записи удаляются после фиксации транзакции, иначе параллельный поиск мог бы снова положить в кэш результат,
+ * прочитанный до фиксации.
+ * Для полнотекстового поиска PostgreSQL со стеммингом совпадение определяется приблизительно,
+ * устаревание таких записей ограничено временем жизни <b>shareit.cache.search.ttl</b>.</p>
+ * <p>Статистика доступна через метрики actuator <b>cache.gets</b>, <b>cache.size</b> и
+ * <b>cache.hit.ratio</b> с тегом <b>cache=itemSearch</b>.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class ItemSearchCache {
+    private static final String CACHE_NAME = "itemSearch";
+
+    private final Cache<SearchKey, CursorPage<ItemDto>> cache;
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.cache.search.maximum-size:1000}") long maximumSize,
+                           @Value("${shareit.cache.search.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("The ratio of cache requests which were hits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Нормализация текста запроса: пробелы по краям удаляются, повторяющиеся пробелы заменяются одним,
+     * буквы приводятся к нижнему регистру.
+     *
+     * @param text текст запроса.
+     * @return нормализованный текст.
+     */
+    public static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Получение страницы результатов поиска с постраничной выдачей по смещению.
+     *
+     * @param text     текст запроса.
+     * @param pageable информация о разбиении на страницы, может быть null.
+     * @param loader   поиск при отсутствии результата в кэше.
+     * @return {@link List} {@link ItemDto}
+     */
+    public List<ItemDto> get(String text, Pageable pageable, Supplier<List<ItemDto>> loader) {
+        String page = pageable == null || pageable.isUnpaged()
+                ? "unpaged"
+                : "offset=" + pageable.getOffset() + "&size=" + pageable.getPageSize();
+        return get(text, page, () -> new CursorPage<>(loader.get(), null)).getContent();
+    }
+
+    /**
+     * Получение страницы результатов поиска с постраничной выдачей по курсору.
+     *
+     * @param text   текст запроса.
+     * @param after  курсор страницы.
+     * @param size   размер страницы.
+     * @param loader поиск при отсутствии результата в кэше.
+     * @return {@link CursorPage} {@link ItemDto}
+     */
+    public CursorPage<ItemDto> get(String text, String after, int size, Supplier<CursorPage<ItemDto>> loader) {
+        return get(text, "after=" + after + "&size=" + size, loader);
+    }
+
+    /**
+     * Удаление результатов запросов, которые находят вещь с указанными названием и описанием.
+     * <p>При изменении вещи вызывается дважды: для значений до и после изменения. Записи удаляются после
+     * фиксации текущей транзакции.</p>
+     *
+     * @param name        название вещи.
+     * @param description описание вещи.
+     */
+    public void evictItem(String name, String description) {
+        String itemName = name == null ? "" : normalize(name);
+        String itemDescription = description == null ? "" : normalize(description);
+        AfterCommit.run(() -> evictMatching(itemName, itemDescription));
+    }
+
+    private void evictMatching(String itemName, String itemDescription) {
+        cache.asMap().keySet().removeIf(key -> {
+            boolean matches = key.matches(itemName, itemDescription);
+            if (matches) {
+                log.info("CACHE: Результаты поиска по запросу \"{}\" ({}) удалены из кэша.", key.getText(), key.getPage());
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * Удаление результатов поиска, содержащих вещи удаленного пользователя, после фиксации транзакции.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        Long ownerId = event.getUserId();
+        log.info("CACHE: Результаты поиска с вещами пользователя с ID = {} удалены из кэша.", ownerId);
+        cache.asMap().values().removeIf(page -> page.getContent().stream()
+                .anyMatch(item -> ownerId.equals(item.getOwnerId())));
+    }
+
+    private CursorPage<ItemDto> get(String text, String page, Supplier<CursorPage<ItemDto>> loader) {
+        String normalized = normalize(text);
+        return cache.get(new SearchKey(normalized, page), key -> loader.get());
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class SearchKey {
+        private final String text;
+        private final String page;
+
+        /**
+         * Текст запроса является подстрокой нормализованного названия или описания вещи.
+         */
+        boolean matches(String itemName, String itemDescription) {
+            return !text.isEmpty() && (itemName.contains(text) || itemDescription.contains(text));
+        }
+    }
+}
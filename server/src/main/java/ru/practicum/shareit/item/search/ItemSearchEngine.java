@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.List;
+
+/**
+ * Поиск доступных для аренды вещей по тексту в названии или описании.
+ * <p>Реализация выбирается свойством <b>shareit.search.engine</b>:</p>
+ * <p><b>index</b> — индекс подстрок названия и описания в памяти {@link ItemSearchIndex} (по умолчанию);</p>
+ * <p><b>fulltext</b> — полнотекстовый поиск PostgreSQL {@link FullTextItemSearchEngine}.</p>
+ *
+ * @author Igor Ivanov
+ */
+public interface ItemSearchEngine {
+    /**
+     * Поиск вещей по тексту.
+     *
+     * @param text     текст запроса.
+     * @param pageable информация о разбиении на страницы, может быть null.
+     * @return {@link List} ID найденных вещей в порядке выдачи.
+     */
+    List<Long> search(String text, Pageable pageable);
+
+    /**
+     * Поиск вещей по тексту с постраничной выдачей по курсору.
+     *
+     * @param text  текст запроса.
+     * @param after курсор из предыдущей страницы, пустая строка для первой страницы.
+     * @param size  размер страницы.
+     * @return {@link CursorPage} ID найденных вещей в порядке выдачи.
+     */
+    CursorPage<Long> search(String text, String after, int size);
+
+    /**
+     * Уведомление о добавлении или изменении вещи. Изменение применяется после фиксации текущей транзакции.
+     *
+     * @param item сохраненная вещь.
+     */
+    void index(Item item);
+}
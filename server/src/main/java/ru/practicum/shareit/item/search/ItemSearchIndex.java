@@ -0,0 +1,278 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.tx.AfterCommit;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Индекс n-грамм по названию и описанию вещей, хранящийся в памяти.
+ * <p>Вещь находится, если текст запроса без учета регистра является подстрокой ее названия или описания —
+ * как при поиске {@code ILIKE '%text%'} в БД: запрос "ель" находит "Дрель". Для каждой триграммы текста хранится
+ * отсортированный список ID вещей, в которых она встречается. Кандидаты — вещи со всеми триграммами запроса,
+ * затем подстрока проверяется по сохраненному тексту. Запрос короче триграммы совпадает с началом триграмм:
+ * конец текста дополняется символами {@code \0}, поэтому такой запрос находится и в конце слова.
+ * Пробелы в запросе и тексте вещи нормализуются ({@link ItemSearchCache#normalize}).
+ * В результат попадают только доступные для аренды вещи.</p>
+ * <p>Индекс строится из БД при старте приложения и обновляется при добавлении, изменении и удалении вещей
+ * (вместе с владельцем) после фиксации транзакции: изменения откаченной транзакции в индекс не попадают.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index", matchIfMissing = true)
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int GRAM_LENGTH = 3;
+    private static final String PADDING = "\0".repeat(GRAM_LENGTH - 1);
+
+    private final ItemRepository itemRepository;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedText> textsByItem = new ConcurrentHashMap<>();
+    private final Set<Long> availableItems = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Разбиение текста на термы: слова из букв и цифр в нижнем регистре.
+     *
+     * @param text исходный текст.
+     * @return {@link Set} термов в порядке их появления в тексте.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Построение индекса по всем вещам из БД.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("SEARCH: Построение поискового индекса вещей.");
+        itemRepository.forEachForIndex(REBUILD_BATCH_SIZE, this::index);
+        log.info("SEARCH: Поисковый индекс построен, вещей: {}, триграмм: {}.", textsByItem.size(), postings.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        Long itemId = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        Boolean available = item.getAvailable();
+        AfterCommit.run(() -> index(itemId, name, description, available));
+    }
+
+    /**
+     * Удаление из индекса вещей удаленного пользователя после фиксации транзакции.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        event.getItemIds().forEach(this::removeNow);
+    }
+
+    public void index(IndexedItem item) {
+        index(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+
+    /**
+     * Добавление вещи в индекс или обновление уже проиндексированной вещи.
+     */
+    public void index(Long itemId, String name, String description, Boolean available) {
+        IndexedText text = new IndexedText(normalize(name), normalize(description));
+
+        lock.writeLock().lock();
+        try {
+            removeGrams(itemId);
+            for (String gram : text.grams()) {
+                postings.computeIfAbsent(gram, key -> new ConcurrentSkipListSet<>()).add(itemId);
+            }
+            textsByItem.put(itemId, text);
+            if (Boolean.TRUE.equals(available)) {
+                availableItems.add(itemId);
+            } else {
+                availableItems.remove(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeNow(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeGrams(itemId);
+            availableItems.remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String text, Pageable pageable) {
+        List<Long> itemIds = search(text);
+        if (pageable == null || pageable.isUnpaged()) {
+            return itemIds;
+        }
+        int fromIndex = (int) Math.min(pageable.getOffset(), itemIds.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), itemIds.size());
+        return itemIds.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * Выдача начинается с первой вещи, ID которой больше ID из курсора.
+     */
+    @Override
+    public CursorPage<Long> search(String text, String after, int size) {
+        long lastId = Cursor.decodeId(after);
+        List<Long> itemIds = search(text);
+        int position = Collections.binarySearch(itemIds, lastId);
+        int fromIndex = position < 0 ? -position - 1 : position + 1;
+        int toIndex = Math.min(fromIndex + size, itemIds.size());
+        List<Long> page = itemIds.subList(fromIndex, toIndex);
+        String nextCursor = toIndex < itemIds.size() && !page.isEmpty() ? Cursor.encode(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    /**
+     * Поиск доступных вещей, в названии или описании которых текст запроса встречается как подстрока.
+     *
+     * @param text текст запроса.
+     * @return {@link List} ID найденных вещей по возрастанию.
+     */
+    public List<Long> search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            SortedSet<Long> result = query.length() < GRAM_LENGTH ? matchPrefix(query) : matchGrams(query);
+            result.retainAll(availableItems);
+            result.removeIf(itemId -> !textsByItem.get(itemId).contains(query));
+            return List.copyOf(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : ItemSearchCache.normalize(text);
+    }
+
+    /**
+     * Вещи, в тексте которых есть все триграммы запроса.
+     */
+    private SortedSet<Long> matchGrams(String query) {
+        SortedSet<Long> matches = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            Set<Long> itemIds = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (itemIds == null) {
+                return new TreeSet<>();
+            }
+            if (matches == null) {
+                matches = new TreeSet<>(itemIds);
+            } else {
+                matches.retainAll(itemIds);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Вещи с триграммами, которые начинаются с запроса короче триграммы.
+     */
+    private SortedSet<Long> matchPrefix(String prefix) {
+        SortedSet<Long> matches = new TreeSet<>();
+        for (Set<Long> itemIds : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            matches.addAll(itemIds);
+        }
+        return matches;
+    }
+
+    private void removeGrams(Long itemId) {
+        IndexedText oldText = textsByItem.remove(itemId);
+        if (oldText == null) {
+            return;
+        }
+        for (String gram : oldText.grams()) {
+            postings.computeIfPresent(gram, (key, itemIds) -> {
+                itemIds.remove(itemId);
+                return itemIds.isEmpty() ? null : itemIds;
+            });
+        }
+    }
+
+    /**
+     * Нормализованные название и описание вещи.
+     */
+    private static class IndexedText {
+        private final String name;
+        private final String description;
+
+        IndexedText(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        /**
+         * Триграммы, начинающиеся с каждого символа названия и описания. Триграммы считаются отдельно
+         * для названия и описания: подстрока запроса не может начинаться в одном поле и заканчиваться в другом.
+         */
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(description, grams);
+            return grams;
+        }
+
+        private static void addGrams(String text, Set<String> grams) {
+            String padded = text + PADDING;
+            for (int i = 0; i < text.length(); i++) {
+                grams.add(padded.substring(i, i + GRAM_LENGTH));
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Сжатое префиксное дерево (radix trie) слов с весами.
+ * <p>Ребра дерева помечены строками, узлы без веса с единственным потомком объединяются с ним.
+ * В каждом узле хранится наибольший вес в его поддереве, поэтому дополнения префикса перебираются
+ * в порядке убывания веса и перебор останавливается, как только найдено нужное количество слов.</p>
+ * <p>Класс не потокобезопасен.</p>
+ *
+ * @author Igor Ivanov
+ */
+public class RadixTrie {
+    private static final Comparator<Candidate> BY_WEIGHT = Comparator.comparingInt((Candidate c) -> c.weight)
+            .reversed()
+            .thenComparing(c -> c.text);
+
+    private final Node root = new Node("", 0);
+
+    /**
+     * Изменение веса слова. Слово с нулевым весом удаляется из дерева.
+     *
+     * @param word  слово.
+     * @param delta изменение веса.
+     */
+    public void add(String word, int delta) {
+        if (word.isEmpty() || delta == 0) {
+            return;
+        }
+        update(root, word, delta);
+    }
+
+    /**
+     * Вес слова.
+     *
+     * @param word слово.
+     * @return вес слова или 0, если слова нет в дереве.
+     */
+    public int weight(String word) {
+        Node node = root;
+        String rest = word;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.label)) {
+                return 0;
+            }
+            rest = rest.substring(child.label.length());
+            node = child;
+        }
+        return node.weight;
+    }
+
+    public boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    /**
+     * Слова с наибольшим весом, начинающиеся с префикса.
+     *
+     * @param prefix     префикс.
+     * @param limit      наибольшее количество слов.
+     * @param maxVisited наибольшее количество узлов, которое можно просмотреть.
+     * @return {@link List} слов в порядке убывания веса, при равном весе — по алфавиту.
+     */
+    public List<String> complete(String prefix, int limit, int maxVisited) {
+        Node node = root;
+        String rest = prefix;
+        StringBuilder path = new StringBuilder();
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int common = commonPrefixLength(child.label, rest);
+            if (common < rest.length() && common < child.label.length()) {
+                return Collections.emptyList();
+            }
+            path.append(child.label);
+            rest = rest.substring(common);
+            node = child;
+        }
+
+        List<String> result = new ArrayList<>(limit);
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BY_WEIGHT);
+        queue.add(new Candidate(node, path.toString(), node.best, false));
+        int visited = 0;
+        while (!queue.isEmpty() && result.size() < limit && visited < maxVisited) {
+            Candidate candidate = queue.poll();
+            if (candidate.complete) {
+                result.add(candidate.text);
+                continue;
+            }
+            visited++;
+            Node current = candidate.node;
+            if (current.weight > 0) {
+                queue.add(new Candidate(current, candidate.text, current.weight, true));
+            }
+            for (Node child : current.children.values()) {
+                queue.add(new Candidate(child, candidate.text + child.label, child.best, false));
+            }
+        }
+        return result;
+    }
+
+    private void update(Node node, String key, int delta) {
+        if (key.isEmpty()) {
+            node.weight = Math.max(0, node.weight + delta);
+        } else {
+            char first = key.charAt(0);
+            Node child = node.children.get(first);
+            if (child == null) {
+                if (delta > 0) {
+                    node.children.put(first, new Node(key, delta));
+                }
+            } else {
+                int common = commonPrefixLength(child.label, key);
+                if (common < child.label.length()) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    Node split = new Node(child.label.substring(0, common), 0);
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    split.best = child.best;
+                    node.children.put(first, split);
+                    child = split;
+                }
+                update(child, key.substring(common), delta);
+                if (child.weight == 0 && child.children.isEmpty()) {
+                    node.children.remove(first);
+                } else if (child.weight == 0 && child.children.size() == 1) {
+                    Node only = child.children.values().iterator().next();
+                    only.label = child.label + only.label;
+                    node.children.put(first, only);
+                }
+            }
+        }
+        node.best = node.weight;
+        for (Node child : node.children.values()) {
+            node.best = Math.max(node.best, child.best);
+        }
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private String label;
+        private int weight;
+        private int best;
+
+        Node(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+            this.best = weight;
+        }
+    }
+
+    private static class Candidate {
+        private final Node node;
+        private final String text;
+        private final int weight;
+        private final boolean complete;
+
+        Candidate(Node node, String text, int weight, boolean complete) {
+            this.node = node;
+            this.text = text;
+            this.weight = weight;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Результат полнотекстового поиска: ID вещи и ее релевантность.
+ *
+ * @author Igor Ivanov
+ */
+public interface RankedItem {
+    Long getId();
+
+    Float getRank();
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Кодирование и декодирование курсора постраничной выдачи.
+ * <p>Курсор — непрозрачная для клиента строка, в которой закодированы значения ключа сортировки
+ * последней записи страницы. Следующая страница начинается сразу после этой записи.</p>
+ *
+ * @author Igor Ivanov
+ */
+public final class Cursor {
+    private static final String SEPARATOR = "|";
+
+    private Cursor() {
+    }
+
+    /**
+     * Кодирование значений ключа сортировки в курсор.
+     *
+     * @param values значения ключа сортировки последней записи страницы.
+     * @return курсор.
+     */
+    public static String encode(Object... values) {
+        StringBuilder builder = new StringBuilder();
+        for (Object value : values) {
+            if (builder.length() > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирование курсора в значения ключа сортировки.
+     *
+     * @param cursor курсор, полученный от {@link #encode(Object...)}.
+     * @param size   ожидаемое количество значений.
+     * @return массив значений ключа сортировки.
+     * @throws BadRequestException если курсор поврежден.
+     */
+    public static String[] decode(String cursor, int size) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = decoded.split("\\" + SEPARATOR, -1);
+            if (values.length != size) {
+                throw new IllegalArgumentException("Неверное количество значений курсора: " + values.length);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Некорректный курсор: " + cursor + ".");
+        }
+    }
+
+    /**
+     * Декодирование курсора, содержащего только ID последней записи.
+     *
+     * @param cursor курсор или пустая строка для первой страницы.
+     * @return ID последней записи предыдущей страницы, 0 для первой страницы.
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Некорректный курсор: " + cursor + ".");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Страница выдачи с курсором на следующую страницу.
+ * <p>Курсор передается клиенту в заголовке ответа {@value #NEXT_CURSOR_HEADER}, за следующей страницей
+ * клиент обращается с параметром запроса <b>after</b>. Если заголовка нет — страница последняя.</p>
+ *
+ * @param <T> тип элементов страницы.
+ * @author Igor Ivanov
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(content);
+    }
+}
@@ -3,8 +3,10 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
@@ -42,19 +44,28 @@ public class RequestController {
     /**
      * Метод обработки запроса на получение информации о всех запросах.
      *
+     * <p>Если передан параметр <b>after</b>, выдача идет по курсору, курсор следующей страницы
+     * возвращается в заголовке {@value CursorPage#NEXT_CURSOR_HEADER}.</p>
+     *
      * @param userId ID пользователя, передается через заголовок запроса "X-Sharer-User-Id".
      * @param from   с какой записи вывести информацию, по умолчанию с первой.
      * @param size   количество записей на странице, по умолчанию 10.
+     * @param after  курсор страницы, пустое значение для первой страницы.
      * @return {@link List} {@link RequestDto}
      */
     @GetMapping("/all")
-    public List<RequestDto> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                        @RequestParam(required = false, defaultValue = "0") Integer from,
-                                        @RequestParam(required = false, defaultValue = "10") Integer size) {
+    public ResponseEntity<List<RequestDto>> getRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false, defaultValue = "0") Integer from,
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        log.info("CONTROLLER: Запрос на получение информации о всех запросах.");
+        if (after != null) {
+            return requestService.getAllRequests(userId, after, size).toResponseEntity();
+        }
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        log.info("CONTROLLER: Запрос на получение информации о всех запросах.");
-        return requestService.getAllRequests(userId, pageRequest);
+        return ResponseEntity.ok(requestService.getAllRequests(userId, pageRequest));
     }
 
     /**
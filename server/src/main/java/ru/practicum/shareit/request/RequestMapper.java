@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.feed.RequestFeedEntry;
 import ru.practicum.shareit.request.model.Request;
 
 public class RequestMapper {
@@ -12,6 +13,14 @@ public class RequestMapper {
                 .build();
     }
 
+    public static RequestDto toDto(RequestFeedEntry entry) {
+        return RequestDto.builder()
+                .id(entry.getId())
+                .description(entry.getDescription())
+                .created(entry.getCreated())
+                .build();
+    }
+
     public static Request fromDto(RequestDto requestDto) {
         return Request.builder()
                 .id(requestDto.getId())
@@ -1,16 +1,37 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.feed.RequestFeedEntry;
 import ru.practicum.shareit.request.model.Request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
     List<Request> getRequestsByRequesterId(Long userId, PageRequest pageRequest);
 
-    List<Request> getRequestsByRequesterIdNot(Long userId, PageRequest pageRequest);
+    /**
+     * Лента запросов других пользователей от новых к старым.
+     */
+    @Query("select new ru.practicum.shareit.request.feed.RequestFeedEntry(r.id, r.requester.id, r.description, " +
+            "r.created) from Request r where r.requester.id <> ?1 order by r.created desc, r.id desc")
+    List<RequestFeedEntry> findFeed(Long userId, Pageable pageable);
+
+    /**
+     * Продолжение ленты запросов других пользователей после запроса (created, id).
+     */
+    @Query("select new ru.practicum.shareit.request.feed.RequestFeedEntry(r.id, r.requester.id, r.description, " +
+            "r.created) from Request r where r.requester.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<RequestFeedEntry> findFeedAfter(Long userId, LocalDateTime created, Long id, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.request.feed.RequestFeedEntry(r.id, r.requester.id, r.description, " +
+            "r.created) from Request r order by r.created desc, r.id desc")
+    List<RequestFeedEntry> findNewest(Pageable pageable);
 
     Optional<Request> getRequestsById(Long requestId);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
@@ -10,6 +11,8 @@ public interface RequestService {
 
     List<RequestDto> getAllRequests(Long userId, PageRequest pageRequest);
 
+    CursorPage<RequestDto> getAllRequests(Long userId, String after, Integer size);
+
     List<RequestDto> getUserRequests(Long userId, PageRequest pageRequest);
 
     RequestDto addRequest(Long userId, RequestDto requestDto);
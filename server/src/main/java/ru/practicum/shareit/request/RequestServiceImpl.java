@@ -4,18 +4,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.feed.RequestFeed;
+import ru.practicum.shareit.request.feed.RequestFeedEntry;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserDirectory;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,8 +31,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RequestServiceImpl implements RequestService {
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final ItemRepository itemRepository;
     private final RequestRepository requestRepository;
+    private final RequestFeed requestFeed;
 
     /**
      * Метод обработки запроса на получение информации о запросе по его ID.
@@ -45,13 +54,14 @@ public class RequestServiceImpl implements RequestService {
         });
 
         RequestDto requestDto = RequestMapper.toDto(request);
-        setItems(requestDto);
+        setItems(List.of(requestDto));
 
         return requestDto;
     }
 
     /**
      * Метод обработки запроса на получение информации о всех запросах.
+     * <p>Запросы читаются из ленты {@link RequestFeed} от новых к старым.</p>
      *
      * @param userId      ID пользователя.
      * @param pageRequest информация о разбиении на страницы.
@@ -60,10 +70,48 @@ public class RequestServiceImpl implements RequestService {
     @Override
     public List<RequestDto> getAllRequests(Long userId, PageRequest pageRequest) {
         log.info("SERVICE: Обработка запроса на получение информации о всех запросах.");
-        return requestRepository.getRequestsByRequesterIdNot(userId, pageRequest).stream()
+        List<RequestDto> requestDtos = requestFeed.getPage(userId, pageRequest).stream()
                 .map(RequestMapper::toDto)
-                .peek(this::setItems)
                 .collect(Collectors.toUnmodifiableList());
+        setItems(requestDtos);
+        return requestDtos;
+    }
+
+    /**
+     * Метод обработки запроса на получение страницы всех запросов по курсору.
+     *
+     * @param userId ID пользователя.
+     * @param after  курсор страницы, пустое значение для первой страницы.
+     * @param size   количество запросов на странице.
+     * @return {@link CursorPage} {@link RequestDto}
+     */
+    @Override
+    public CursorPage<RequestDto> getAllRequests(Long userId, String after, Integer size) {
+        log.info("SERVICE: Обработка запроса на получение страницы всех запросов после курсора: {}.", after);
+        LocalDateTime created = null;
+        Long id = null;
+        if (after != null && !after.isEmpty()) {
+            String[] values = Cursor.decode(after, 2);
+            try {
+                created = LocalDateTime.parse(values[0]);
+                id = Long.parseLong(values[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Некорректный курсор: " + after + ".");
+            }
+        }
+
+        List<RequestFeedEntry> entries = requestFeed.getPageAfter(userId, created, id, size + 1);
+        String nextCursor = null;
+        if (entries.size() > size) {
+            entries = entries.subList(0, size);
+            RequestFeedEntry last = entries.get(size - 1);
+            nextCursor = Cursor.encode(last.getCreated(), last.getId());
+        }
+        List<RequestDto> requestDtos = entries.stream()
+                .map(RequestMapper::toDto)
+                .collect(Collectors.toUnmodifiableList());
+        setItems(requestDtos);
+        return new CursorPage<>(requestDtos, nextCursor);
     }
 
     /**
@@ -81,7 +129,7 @@ public class RequestServiceImpl implements RequestService {
         List<RequestDto> requestDtos = requests.stream()
                 .map(RequestMapper::toDto)
                 .collect(Collectors.toList());
-        requestDtos.forEach(this::setItems);
+        setItems(requestDtos);
         return requestDtos;
     }
 
@@ -95,32 +143,44 @@ public class RequestServiceImpl implements RequestService {
     @Override
 //    @Transactional
     public RequestDto addRequest(Long userId, RequestDto requestDto) {
-        User user = checkUserIdAndReturn(userId);
+        checkUserIdAndReturn(userId);
 
         Request request = RequestMapper.fromDto(requestDto);
-        request.setRequester(user);
-        request.setCreated(LocalDateTime.now());
+        // Связь с автором каскадная: нужна ссылка на пользователя в контексте персистентности,
+        // а не копия из справочника
+        request.setRequester(userRepository.getReferenceById(userId));
+        // Точность как у TIMESTAMP в БД, чтобы запрос в ленте совпадал с прочитанным из БД
+        request.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
 
         log.info("SERVICE: Обработка запроса на добавление нового запроса: {} от пользователя с ID = {}.", requestDto, userId);
-        return RequestMapper.toDto(requestRepository.save(request));
+        Request savedRequest = requestRepository.save(request);
+        requestFeed.add(new RequestFeedEntry(savedRequest.getId(), userId, savedRequest.getDescription(),
+                savedRequest.getCreated()));
+        return RequestMapper.toDto(savedRequest);
     }
 
     private User checkUserIdAndReturn(Long userId) {
-        return userRepository.findById(userId)
+        return userDirectory.getUserById(userId)
                 .orElseThrow(() -> {
                     log.error("SERVICE: Пользователь с ID = {} - не найден.", userId);
                     throw new NotFoundException("Пользователь с ID = " + userId + " не найден.");
                 });
     }
 
-    private void setItems(RequestDto requestDto) {
-        List<Item> items = itemRepository.getItemsByRequestId(requestDto.getId());
-        if (items.isEmpty()) {
-            requestDto.setItems(Collections.emptyList());
-        } else {
-            requestDto.setItems(items.stream()
-                    .map(ItemMapper::toItemDto)
-                    .collect(Collectors.toUnmodifiableList()));
+    /**
+     * Вещи, добавленные в ответ на запросы, загружаются одним запросом на всю страницу запросов
+     * и распределяются по запросам в памяти.
+     */
+    private void setItems(List<RequestDto> requestDtos) {
+        if (requestDtos.isEmpty()) {
+            return;
         }
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.getItemsByRequestIdIn(requestDtos.stream()
+                        .map(RequestDto::getId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        requestDtos.forEach(requestDto ->
+                requestDto.setItems(itemsByRequestId.getOrDefault(requestDto.getId(), List.of())));
     }
-}
\ No newline at end of file
+}
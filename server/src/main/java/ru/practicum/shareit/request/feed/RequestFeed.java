@@ -0,0 +1,294 @@
+package ru.practicum.shareit.request.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.tx.AfterCommit;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Лента запросов всех пользователей, от новых к старым — порядок (created desc, id desc).
+ * <p>Последние <b>shareit.requests.feed.capacity</b> запросов хранятся в памяти в кольцевом буфере, свои запросы
+ * пользователя отфильтровываются при выдаче. Страницы глубже буфера читаются из БД keyset-запросом,
+ * который продолжает ленту с последнего запроса буфера.</p>
+ * <p>Буфер загружается при первом обращении и содержит только зафиксированные запросы: новые добавляются после
+ * фиксации транзакции ({@link #add}), запросы удаленного пользователя удаляются ({@link #onUserDeleted}).
+ * Запросы, добавленные другими экземплярами приложения или напрямую в БД, буфер не видит, поэтому раз в
+ * <b>shareit.requests.feed.reload-ms</b> он перечитывается из БД при следующем обращении ({@link #reload}).</p>
+ * <p>Лента отдает только зафиксированные запросы, в том числе внутри транзакции вызывающего: его незафиксированные
+ * запросы в буфер не попадают. При <b>shareit.requests.feed.capacity=0</b> буфер отключен и каждая страница
+ * читается из БД.</p>
+ * <p>Загрузка буфера может прочитать запрос, который уже зафиксирован, но еще не добавлен в ленту после фиксации.
+ * Такой запрос при добавлении пропускается: равный ему уже стоит в буфере перед местом вставки.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class RequestFeed {
+    private final RequestRepository requestRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RequestFeedEntry[] ring;
+    // Индекс самого нового запроса в ring
+    private int head;
+    private int size;
+    private boolean loaded;
+    // true, если в буфере все запросы из БД и обращаться к БД за глубокими страницами не нужно
+    private boolean complete;
+
+    public RequestFeed(RequestRepository requestRepository,
+                       @Value("${shareit.requests.feed.capacity:1000}") int capacity) {
+        this.requestRepository = requestRepository;
+        this.ring = new RequestFeedEntry[capacity];
+    }
+
+    /**
+     * Страница ленты для пользователя с ID = userId без его собственных запросов.
+     *
+     * @param pageable смещение и размер страницы, null — вся лента.
+     */
+    public List<RequestFeedEntry> getPage(Long userId, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged() || !useBuffer()) {
+            return requestRepository.findFeed(userId, pageable == null ? Pageable.unpaged() : pageable);
+        }
+        long offset = pageable.getOffset();
+        int limit = pageable.getPageSize();
+        List<RequestFeedEntry> page = new ArrayList<>(limit);
+        RequestFeedEntry last;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                RequestFeedEntry entry = get(i);
+                if (entry.getRequesterId().equals(userId)) {
+                    continue;
+                }
+                if (offset > 0) {
+                    offset--;
+                } else {
+                    page.add(entry);
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+            }
+            if (complete) {
+                return page;
+            }
+            last = size == 0 ? null : get(size - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.debug("FEED: Страница ленты для пользователя с ID = {} глубже буфера, чтение из БД.", userId);
+        int skip = (int) offset;
+        List<RequestFeedEntry> rest = readAfter(userId, last, skip + limit - page.size());
+        page.addAll(rest.subList(Math.min(skip, rest.size()), rest.size()));
+        return page;
+    }
+
+    /**
+     * До limit запросов ленты для пользователя с ID = userId после запроса (created, id) без его собственных
+     * запросов.
+     *
+     * @param created дата создания последнего полученного запроса, null — с начала ленты.
+     */
+    public List<RequestFeedEntry> getPageAfter(Long userId, LocalDateTime created, Long id, int limit) {
+        if (!useBuffer()) {
+            return created == null
+                    ? requestRepository.findFeed(userId, PageRequest.of(0, limit))
+                    : requestRepository.findFeedAfter(userId, created, id, PageRequest.of(0, limit));
+        }
+        List<RequestFeedEntry> page = new ArrayList<>(limit);
+        RequestFeedEntry last;
+        lock.readLock().lock();
+        try {
+            int start = created == null ? 0 : indexAfter(created, id);
+            if (start == size && !complete && size > 0) {
+                // Курсор за пределами буфера
+                return requestRepository.findFeedAfter(userId, created, id, PageRequest.of(0, limit));
+            }
+            for (int i = start; i < size; i++) {
+                RequestFeedEntry entry = get(i);
+                if (!entry.getRequesterId().equals(userId)) {
+                    page.add(entry);
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+            }
+            if (complete) {
+                return page;
+            }
+            last = size == 0 ? null : get(size - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+        page.addAll(readAfter(userId, last, limit - page.size()));
+        return page;
+    }
+
+    /**
+     * Добавление нового запроса в ленту после фиксации текущей транзакции.
+     */
+    public void add(RequestFeedEntry entry) {
+        AfterCommit.run(() -> insert(entry));
+    }
+
+    /**
+     * Удаление из ленты запросов удаленного пользователя после фиксации транзакции
+     * (запросы удаляются вместе с пользователем).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        remove(event.getUserId());
+    }
+
+    /**
+     * Перезагрузка буфера из БД при следующем обращении к ленте.
+     */
+    @Scheduled(fixedDelayString = "${shareit.requests.feed.reload-ms:60000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long requesterId) {
+        lock.writeLock().lock();
+        try {
+            List<RequestFeedEntry> kept = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (!get(i).getRequesterId().equals(requesterId)) {
+                    kept.add(get(i));
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                ring[i] = i < kept.size() ? kept.get(i) : null;
+            }
+            head = 0;
+            size = kept.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean useBuffer() {
+        if (ring.length == 0) {
+            return false;
+        }
+        ensureLoaded();
+        return true;
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<RequestFeedEntry> newest = requestRepository.findNewest(PageRequest.of(0, ring.length));
+            for (int i = 0; i < newest.size(); i++) {
+                ring[i] = newest.get(i);
+            }
+            head = 0;
+            size = newest.size();
+            complete = size < ring.length;
+            loaded = true;
+            log.info("FEED: В ленту загружено {} запросов.", size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(RequestFeedEntry entry) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // Запрос будет прочитан из БД при загрузке
+                return;
+            }
+            int position = indexAfter(entry.getCreated(), entry.getId());
+            if (position > 0 && get(position - 1).getId().equals(entry.getId())) {
+                // Запрос уже прочитан из БД при загрузке буфера
+                return;
+            }
+            if (position == size && !complete) {
+                // Запрос старше всех запросов в неполном буфере, он в части ленты, которая читается из БД
+                return;
+            }
+            if (size == ring.length) {
+                if (position == size) {
+                    return;
+                }
+                // Самый старый запрос вытесняется из буфера и дальше читается из БД
+                size--;
+                complete = false;
+            }
+            if (position == 0) {
+                head = (head - 1 + ring.length) % ring.length;
+            } else {
+                for (int i = size; i > position; i--) {
+                    set(i, get(i - 1));
+                }
+            }
+            size++;
+            set(position, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Индекс первого запроса буфера, идущего после запроса (created, id), бинарным поиском.
+     */
+    private int indexAfter(LocalDateTime created, Long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (get(middle).isAfter(created, id)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private List<RequestFeedEntry> readAfter(Long userId, RequestFeedEntry last, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return last == null
+                ? requestRepository.findFeed(userId, PageRequest.of(0, limit))
+                : requestRepository.findFeedAfter(userId, last.getCreated(), last.getId(), PageRequest.of(0, limit));
+    }
+
+    private RequestFeedEntry get(int index) {
+        return ring[(head + index) % ring.length];
+    }
+
+    private void set(int index, RequestFeedEntry entry) {
+        ring[(head + index) % ring.length] = entry;
+    }
+}
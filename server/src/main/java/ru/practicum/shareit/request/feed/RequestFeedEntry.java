@@ -0,0 +1,30 @@
+package ru.practicum.shareit.request.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запрос в ленте {@link RequestFeed}: только поля, нужные для выдачи и фильтрации, без пользователя-автора.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class RequestFeedEntry {
+    private final Long id;
+    private final Long requesterId;
+    private final String description;
+    private final LocalDateTime created;
+
+    /**
+     * Порядок ленты — (created desc, id desc): true, если запрос идет в ленте после запроса (created, id).
+     */
+    boolean isAfter(LocalDateTime created, Long id) {
+        int compare = this.created.compareTo(created);
+        return compare < 0 || compare == 0 && this.id < id;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.tx;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Действия, откладываемые до завершения текущей транзакции.
+ * <p>Кэши и индексы в памяти должны видеть только зафиксированные изменения: изменения откаченной транзакции
+ * в них попасть не должны.</p>
+ *
+ * @author Igor Ivanov
+ */
+public final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    /**
+     * Выполнение действия после фиксации текущей транзакции, вне транзакции — сразу.
+     * <p>При откате транзакции действие не выполняется.</p>
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Выполнение действия после завершения текущей транзакции с ее статусом
+     * ({@link TransactionSynchronization#STATUS_COMMITTED} и другие). Вне транзакции действие не выполняется.
+     */
+    public static void onCompletion(IntConsumer action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status);
+            }
+        });
+    }
+}
@@ -1,12 +1,23 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.user.bulk.UserImportFormat;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -22,6 +33,7 @@ import java.util.List;
 @Validated
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     // GET запросы.
 
@@ -39,6 +51,30 @@ public class UserController {
         return userService.getAll(pageRequest);
     }
 
+    /**
+     * Метод обработки запроса на выгрузку всех пользователей.
+     * <p>Пользователи передаются потоком в формате NDJSON — по одному JSON-объекту {@link UserDto} в строке,
+     * в порядке ID.</p>
+     *
+     * @return {@link StreamingResponseBody}
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("CONTROLLER: Запрос на выгрузку всех пользователей.");
+        ObjectWriter writer = objectMapper.writerFor(UserDto.class);
+        StreamingResponseBody body = out -> userService.exportAll(user -> {
+            try {
+                out.write(writer.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Метод обработки запроса на получение информации о пользователе по его ID.
      *
@@ -65,6 +101,22 @@ public class UserController {
         return userService.add(userDto);
     }
 
+    /**
+     * Метод обработки запроса на массовый импорт пользователей из CSV или NDJSON.
+     * <p>Тело запроса читается потоком и не хранится в памяти целиком. Строки с неверными данными и с e-mail,
+     * который повторяется в импорте или уже занят, не добавляются и перечисляются в результате.</p>
+     *
+     * @param contentType text/csv или application/x-ndjson.
+     * @param body        тело запроса.
+     * @return {@link UserImportResultDto}
+     */
+    @PostMapping(path = "/import", consumes = {UserImportFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public UserImportResultDto importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           InputStream body) {
+        log.info("CONTROLLER: Запрос на импорт пользователей в формате {}.", contentType);
+        return userService.importUsers(body, contentType);
+    }
+
     // PATCH запросы
 
     /**
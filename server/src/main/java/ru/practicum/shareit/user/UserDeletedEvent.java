@@ -0,0 +1,23 @@
+package ru.practicum.shareit.user;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Событие приложения об удалении пользователя вместе с его вещами. Публикуется сервисом в транзакции,
+ * кэши и индексы в памяти обрабатывают его только после ее фиксации.
+ */
+@Getter
+@ToString
+public class UserDeletedEvent {
+    private final Long userId;
+    // Вещи пользователя, удаленные вместе с ним
+    private final List<Long> itemIds;
+
+    public UserDeletedEvent(Long userId, List<Long> itemIds) {
+        this.userId = userId;
+        this.itemIds = List.copyOf(itemIds);
+    }
+}
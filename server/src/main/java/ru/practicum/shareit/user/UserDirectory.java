@@ -0,0 +1,92 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import ru.practicum.shareit.tx.AfterCommit;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Справочник пользователей: кэш ID пользователя → (имя, email), работающий по принципу read-through
+ * перед {@link UserRepository}. Используется сервисами для проверки существования пользователя.
+ * <p>В кэше хранятся копии пользователей, не связанные с контекстом персистентности: их можно назначать
+ * владельцем, автором или бронирующим новых сущностей, но нельзя изменять. Отсутствующие пользователи
+ * не кэшируются.</p>
+ * <p>Размер кэша ограничен свойством <b>shareit.cache.users.maximum-size</b>, время жизни записи —
+ * <b>shareit.cache.users.ttl</b>. Записи удаляются при изменении и удалении пользователя.
+ * Метрики actuator — с тегом <b>cache=users</b>.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class UserDirectory {
+    private final UserRepository userRepository;
+    private final Cache<Long, User> cache;
+
+    public UserDirectory(UserRepository userRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${shareit.cache.users.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit.cache.users.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /**
+     * Получение пользователя по ID. При отсутствии в кэше пользователь загружается из БД.
+     *
+     * @param userId ID пользователя.
+     * @return {@link Optional} с пользователем или пустой, если пользователь не найден.
+     */
+    public Optional<User> getUserById(Long userId) {
+        return Optional.ofNullable(cache.get(userId, this::load));
+    }
+
+    /**
+     * Загрузка пользователя из БД. Пользователь, прочитанный внутри транзакции, удаляется из кэша, если
+     * транзакция не зафиксирована: он мог быть создан или изменен в этой же транзакции.
+     */
+    private User load(Long userId) {
+        User user = userRepository.findById(userId)
+                .map(found -> new User(found.getId(), found.getName(), found.getEmail()))
+                .orElse(null);
+        if (user != null) {
+            AfterCommit.onCompletion(status -> {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+        return user;
+    }
+
+    /**
+     * Удаление пользователя из кэша сразу и повторно после завершения текущей транзакции: иначе параллельный
+     * запрос может успеть загрузить в кэш еще не измененного пользователя.
+     */
+    public void evict(Long userId) {
+        log.info("CACHE: Пользователь с ID = {} удален из кэша.", userId);
+        cache.invalidate(userId);
+        AfterCommit.onCompletion(status -> cache.invalidate(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        log.info("CACHE: Удаленный пользователь с ID = {} удален из кэша.", event.getUserId());
+        cache.invalidate(event.getUserId());
+    }
+}
@@ -1,7 +1,32 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+    /**
+     * Количество строк, которое драйвер БД читает за одно обращение при выгрузке пользователей.
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    List<User> findAllByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Все пользователи в порядке ID, читаемые курсором БД только вперед, порциями по {@link #EXPORT_FETCH_SIZE}.
+     * <p>Пользователи читаются сразу в {@link UserDto} и не попадают в контекст персистентности, поэтому память
+     * не растет с числом пользователей. Поток нужно читать внутри транзакции и закрыть после чтения.</p>
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) from User u order by u.id")
+    Stream<UserDto> streamAll();
+}
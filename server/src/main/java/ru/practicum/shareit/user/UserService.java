@@ -1,17 +1,25 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDto> getAll(PageRequest pageRequest);
 
+    void exportAll(Consumer<UserDto> consumer);
+
     UserDto getById(Long id);
 
     UserDto add(UserDto userDto);
 
+    UserImportResultDto importUsers(InputStream body, MediaType contentType);
+
     UserDto update(UserDto userDto);
 
     UserDto delete(Long id);
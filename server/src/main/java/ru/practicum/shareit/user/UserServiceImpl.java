@@ -2,15 +2,24 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.bulk.UserImporter;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Класс сервис, осуществляет бизнес логику работы с классом {@link User}.
@@ -25,15 +34,31 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final UserImporter userImporter;
+    private final ItemRepository itemRepository;
+    private final ItemCache itemCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<UserDto> getAll(PageRequest pageRequest) {
         log.info("SERVICE: Запрос на получение списка пользователей.");
-        return userRepository.findAll().stream()
+        return userRepository.findAllByOrderByIdAsc(pageRequest).stream()
                 .map(UserMapper::toDto)
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    /**
+     * Передача всех пользователей в consumer по одному, в порядке ID, без загрузки таблицы в память.
+     */
+    @Override
+    public void exportAll(Consumer<UserDto> consumer) {
+        log.info("SERVICE: Запрос на выгрузку всех пользователей.");
+        try (Stream<UserDto> users = userRepository.streamAll()) {
+            users.forEach(consumer);
+        }
+    }
+
     @Override
     public UserDto getById(Long id) {
         log.info("SERVICE: Запрос на получение информации о пользователе с ID = {}.", id);
@@ -48,13 +73,26 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toDto(userRepository.save(UserMapper.fromDto(userDto)));
     }
 
+    /**
+     * Массовый импорт пользователей одной транзакцией, тело запроса читается потоком.
+     */
+    @Transactional
+    @Override
+    public UserImportResultDto importUsers(InputStream body, MediaType contentType) {
+        log.info("SERVICE: Запрос на импорт пользователей в формате {}.", contentType);
+        return userImporter.importUsers(body, contentType);
+    }
+
     @Transactional
     @Override
     public UserDto update(UserDto userDto) {
         log.info("SERVICE: Запрос на обновление пользователя с ID = {}.", userDto.getId());
         User userBd = userRepository.findById(userDto.getId()).orElseThrow();
         copyFields(UserMapper.fromDto(userDto), userBd);
-        return UserMapper.toDto(userRepository.save(userBd));
+        userBd = userRepository.save(userBd);
+        userDirectory.evict(userBd.getId());
+        itemCache.evictByOwnerId(userBd.getId());
+        return UserMapper.toDto(userBd);
     }
 
     @Transactional
@@ -62,7 +100,11 @@ public class UserServiceImpl implements UserService {
     public UserDto delete(Long id) {
         log.info("SERVICE: Запрос на удаление пользователя с ID = {}.", id);
         User deleteUser = userRepository.findById(id).orElseThrow();
+        // Вещи пользователя удаляются вместе с ним
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
         userRepository.deleteById(id);
+        // Кэши и индексы удаляют пользователя, его вещи и запросы после фиксации транзакции
+        eventPublisher.publishEvent(new UserDeletedEvent(id, itemIds));
         return UserMapper.toDto(deleteUser);
     }
 
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.user.bulk;
+
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Чтение импорта в формате CSV (RFC 4180): поля через запятую, поле в кавычках может содержать запятые,
+ * переводы строк и кавычки, записанные дважды.
+ * <p>Первая запись — заголовок, в нем ищутся столбцы <b>name</b> и <b>email</b> без учета регистра.
+ * Пустые строки пропускаются, номер строки импорта — номер строки файла, с которой начинается запись.</p>
+ */
+class CsvUserImportReader implements UserImportReader {
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final int nameColumn;
+    private final int emailColumn;
+    // Номер строки файла, с которой начинается следующая запись
+    private long nextLine = 1;
+
+    CsvUserImportReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            nameColumn = -1;
+            emailColumn = -1;
+            return;
+        }
+        if (!header.get(0).isEmpty() && header.get(0).charAt(0) == BOM) {
+            header.set(0, header.get(0).substring(1));
+        }
+        nameColumn = indexOf(header, "name");
+        emailColumn = indexOf(header, "email");
+        if (nameColumn < 0 || emailColumn < 0) {
+            throw new BadRequestException("В заголовке CSV нет столбцов name и email: " + header + ".");
+        }
+    }
+
+    @Override
+    public UserImportRow next() throws IOException {
+        if (nameColumn < 0) {
+            return null;
+        }
+        List<String> fields;
+        long line;
+        do {
+            line = nextLine;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        String name = nameColumn < fields.size() ? fields.get(nameColumn) : null;
+        String email = emailColumn < fields.size() ? fields.get(emailColumn) : null;
+        return new UserImportRow(line, name, email, name != null && email != null);
+    }
+
+    /**
+     * Чтение одной записи CSV.
+     *
+     * @return поля записи или null, если файл закончился.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    // Незакрытая кавычка в конце файла
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    nextLine++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                nextLine++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                c = reader.read();
+                if (c != '\n') {
+                    field.append('\r');
+                }
+                continue;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Чтение импорта в формате NDJSON. Пустые строки пропускаются, строка, которая не является
+ * JSON-объектом, возвращается неразобранной.
+ */
+class NdjsonUserImportReader implements UserImportReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonUserImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public UserImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                return new UserImportRow(line, null, null, false);
+            }
+            return new UserImportRow(line, textOrNull(node.get("name")), textOrNull(node.get("email")), true);
+        } catch (JsonProcessingException e) {
+            return new UserImportRow(line, null, null, false);
+        }
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node != null && node.isTextual() ? node.asText() : null;
+    }
+}
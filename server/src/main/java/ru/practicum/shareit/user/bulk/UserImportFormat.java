@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Форматы файла массового импорта пользователей.
+ * <p><b>CSV</b> — text/csv, первая строка — заголовок со столбцами <b>name</b> и <b>email</b>;</p>
+ * <p><b>NDJSON</b> — application/x-ndjson, по одному объекту с полями <b>name</b> и <b>email</b> в строке.</p>
+ *
+ * @author Igor Ivanov
+ */
+public enum UserImportFormat {
+    CSV(MediaType.parseMediaType(UserImportFormat.CSV_VALUE)) {
+        @Override
+        UserImportReader open(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+            return new CsvUserImportReader(reader);
+        }
+    },
+    NDJSON(MediaType.APPLICATION_NDJSON) {
+        @Override
+        UserImportReader open(BufferedReader reader, ObjectMapper objectMapper) {
+            return new NdjsonUserImportReader(reader, objectMapper);
+        }
+    };
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    UserImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    abstract UserImportReader open(BufferedReader reader, ObjectMapper objectMapper) throws IOException;
+
+    public static UserImportFormat of(MediaType contentType) {
+        for (UserImportFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(contentType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Формат импорта " + contentType + " не поддерживается.");
+    }
+}
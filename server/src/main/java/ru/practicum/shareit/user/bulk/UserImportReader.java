@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user.bulk;
+
+import java.io.IOException;
+
+/**
+ * Последовательное чтение строк импорта пользователей: в памяти находится только текущая строка.
+ */
+interface UserImportReader {
+    /**
+     * @return следующая строка импорта или null, если строки закончились.
+     */
+    UserImportRow next() throws IOException;
+}
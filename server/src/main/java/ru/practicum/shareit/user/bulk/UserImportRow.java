@@ -0,0 +1,19 @@
+package ru.practicum.shareit.user.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Строка импорта пользователей: номер строки в файле, имя и e-mail. Если строку не удалось разобрать,
+ * <b>parsed</b> = false, а имя и e-mail могут отсутствовать.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+class UserImportRow {
+    private final long line;
+    private final String name;
+    private final String email;
+    private final boolean parsed;
+}
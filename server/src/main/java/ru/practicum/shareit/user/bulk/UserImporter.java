@@ -0,0 +1,236 @@
+package ru.practicum.shareit.user.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.user.dto.UserImportConflictDto;
+import ru.practicum.shareit.user.dto.UserImportConflictReason;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Массовый импорт пользователей из CSV или NDJSON.
+ * <p>Тело запроса читается потоком и построчно загружается в промежуточную таблицу <b>users_import</b>:
+ * в PostgreSQL командой COPY, в остальных БД пакетными INSERT. Затем одним запросом на каждый шаг строки
+ * помечаются как неверные, повторяющиеся внутри импорта или уже существующие по e-mail, остальные
+ * переносятся в <b>users</b>. Импорт выполняется в транзакции вызывающего целиком.</p>
+ * <p>В PostgreSQL строки переносятся запросом INSERT ... ON CONFLICT (email) DO NOTHING: e-mail, который
+ * параллельная транзакция добавила после проверки, не прерывает импорт нарушением уникальности, а строка
+ * отклоняется как {@link UserImportConflictReason#EXISTS}.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Slf4j
+@Component
+public class UserImporter {
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    private static final String INSERT_ROW =
+            "INSERT INTO users_import (import_id, line_no, name, email, status) VALUES (?, ?, ?, ?, ?)";
+    private static final String COPY_ROWS =
+            "COPY users_import (import_id, line_no, name, email, status) FROM STDIN WITH (FORMAT csv)";
+    private static final String MARK_DUPLICATES =
+            "UPDATE users_import s SET status = 'DUPLICATE' "
+                    + "WHERE s.import_id = ? AND s.status IS NULL AND EXISTS (SELECT 1 FROM users_import d "
+                    + "WHERE d.import_id = s.import_id AND d.email = s.email AND d.status IS NULL "
+                    + "AND d.line_no < s.line_no)";
+    private static final String MARK_EXISTING =
+            "UPDATE users_import s SET status = 'EXISTS' "
+                    + "WHERE s.import_id = ? AND s.status IS NULL AND EXISTS (SELECT 1 FROM users u "
+                    + "WHERE u.email = s.email)";
+    private static final String INSERT_USERS =
+            "INSERT INTO users (name, email) SELECT name, email FROM users_import "
+                    + "WHERE import_id = ? AND status IS NULL ORDER BY line_no";
+    private static final String INSERT_USERS_ON_CONFLICT =
+            "WITH inserted AS (INSERT INTO users (name, email) SELECT name, email FROM users_import "
+                    + "WHERE import_id = ? AND status IS NULL ORDER BY line_no "
+                    + "ON CONFLICT (email) DO NOTHING RETURNING email), "
+                    + "rejected AS (UPDATE users_import s SET status = 'EXISTS' "
+                    + "WHERE s.import_id = ? AND s.status IS NULL "
+                    + "AND NOT EXISTS (SELECT 1 FROM inserted i WHERE i.email = s.email)) "
+                    + "SELECT COUNT(*) FROM inserted";
+    private static final String SELECT_CONFLICTS =
+            "SELECT line_no, email, status FROM users_import "
+                    + "WHERE import_id = ? AND status IS NOT NULL ORDER BY line_no LIMIT ?";
+    private static final String COUNT_CONFLICTS =
+            "SELECT COUNT(*) FROM users_import WHERE import_id = ? AND status IS NOT NULL";
+    private static final String DELETE_ROWS = "DELETE FROM users_import WHERE import_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxReportedConflicts;
+
+    public UserImporter(JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${shareit.users.import.max-reported-conflicts:1000}") int maxReportedConflicts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.maxReportedConflicts = maxReportedConflicts;
+    }
+
+    /**
+     * Импорт пользователей из тела запроса.
+     *
+     * @param body        тело запроса, читается до конца.
+     * @param contentType тип тела: text/csv или application/x-ndjson, кодировка по умолчанию UTF-8.
+     * @return {@link UserImportResultDto}
+     */
+    public UserImportResultDto importUsers(InputStream body, MediaType contentType) {
+        UserImportFormat format = UserImportFormat.of(contentType);
+        Charset charset = contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+        UUID importId = UUID.randomUUID();
+        log.info("IMPORT: Импорт пользователей {} в формате {}.", importId, format);
+
+        return jdbcTemplate.execute((ConnectionCallback<UserImportResultDto>) connection -> {
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            long total;
+            try {
+                UserImportReader reader = format.open(new BufferedReader(new InputStreamReader(body, charset)),
+                        objectMapper);
+                total = postgres ? copy(connection, importId, reader) : insert(connection, importId, reader);
+            } catch (IOException e) {
+                throw new BadRequestException("Не удалось прочитать импорт пользователей: " + e.getMessage());
+            }
+            if (postgres) {
+                // Статистика для планировщика: без нее проверки конфликтов не используют индекс
+                jdbcTemplate.execute("ANALYZE users_import");
+            }
+            return merge(importId, total, postgres);
+        });
+    }
+
+    private UserImportResultDto merge(UUID importId, long total, boolean postgres) {
+        jdbcTemplate.update(MARK_DUPLICATES, importId);
+        jdbcTemplate.update(MARK_EXISTING, importId);
+        long imported = postgres
+                ? jdbcTemplate.queryForObject(INSERT_USERS_ON_CONFLICT, Long.class, importId, importId)
+                : jdbcTemplate.update(INSERT_USERS, importId);
+        List<UserImportConflictDto> conflicts = jdbcTemplate.query(SELECT_CONFLICTS,
+                (rs, rowNum) -> new UserImportConflictDto(rs.getLong("line_no"), rs.getString("email"),
+                        UserImportConflictReason.valueOf(rs.getString("status"))),
+                importId, maxReportedConflicts);
+        Long rejected = jdbcTemplate.queryForObject(COUNT_CONFLICTS, Long.class, importId);
+        jdbcTemplate.update(DELETE_ROWS, importId);
+
+        log.info("IMPORT: Импорт пользователей {} завершен: строк — {}, добавлено — {}, отклонено — {}.",
+                importId, total, imported, rejected);
+        return new UserImportResultDto(total, imported, rejected, conflicts);
+    }
+
+    /**
+     * Загрузка строк в PostgreSQL командой COPY: строки кодируются в CSV и передаются порциями
+     * по {@link #COPY_BUFFER_SIZE} символов.
+     */
+    private long copy(Connection connection, UUID importId, UserImportReader reader)
+            throws SQLException, IOException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_ROWS);
+        long total = 0;
+        StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+        try {
+            for (UserImportRow row = reader.next(); row != null; row = reader.next()) {
+                buffer.append(importId).append(',')
+                        .append(row.getLine()).append(',');
+                appendCsv(buffer, row.getName());
+                buffer.append(',');
+                appendCsv(buffer, row.getEmail());
+                buffer.append(',');
+                appendCsv(buffer, status(row));
+                buffer.append('\n');
+                total++;
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    writeToCopy(copyIn, buffer);
+                }
+            }
+            writeToCopy(copyIn, buffer);
+            copyIn.endCopy();
+            return total;
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long insert(Connection connection, UUID importId, UserImportReader reader)
+            throws SQLException, IOException {
+        long total = 0;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ROW)) {
+            for (UserImportRow row = reader.next(); row != null; row = reader.next()) {
+                statement.setObject(1, importId);
+                statement.setLong(2, row.getLine());
+                statement.setString(3, row.getName());
+                statement.setString(4, row.getEmail());
+                String status = status(row);
+                if (status == null) {
+                    statement.setNull(5, Types.VARCHAR);
+                } else {
+                    statement.setString(5, status);
+                }
+                statement.addBatch();
+                if (++total % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        return total;
+    }
+
+    /**
+     * Проверка строки по тем же правилам, что и при добавлении пользователя.
+     *
+     * @return {@link UserImportConflictReason#INVALID} или null для верной строки.
+     */
+    private static String status(UserImportRow row) {
+        boolean valid = row.isParsed()
+                && row.getName() != null && !row.getName().isBlank() && row.getName().length() <= 50
+                && row.getEmail() != null && row.getEmail().length() <= 150 && EMAIL.matcher(row.getEmail()).matches();
+        return valid ? null : UserImportConflictReason.INVALID.name();
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Поле CSV для COPY: null — пустое поле без кавычек, остальные значения в кавычках.
+     */
+    private static void appendCsv(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.*;
+
+/**
+ * Класс <b>UserImportConflictDto</b> — строка массового импорта, которая не добавлена:
+ * <p><b>Line</b> — Поле номер строки в файле импорта;</p>
+ * <p><b>Email</b> — Поле e-mail из строки;</p>
+ * <p><b>Reason</b> — Поле причина {@link UserImportConflictReason}.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportConflictDto {
+    private Long line;
+    private String email;
+    private UserImportConflictReason reason;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.user.dto;
+
+/**
+ * Причина, по которой строка массового импорта не добавлена:
+ * <p><b>INVALID</b> — строка не разобрана или имя и e-mail не прошли проверку;</p>
+ * <p><b>DUPLICATE</b> — e-mail уже встречался в импорте выше;</p>
+ * <p><b>EXISTS</b> — пользователь с таким e-mail уже есть.</p>
+ *
+ * @author Igor Ivanov
+ */
+public enum UserImportConflictReason {
+    INVALID,
+    DUPLICATE,
+    EXISTS
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Класс <b>UserImportResultDto</b> — результат массового импорта пользователей:
+ * <p><b>Total</b> — Поле количество строк в импорте;</p>
+ * <p><b>Imported</b> — Поле количество добавленных пользователей;</p>
+ * <p><b>Rejected</b> — Поле количество строк, которые не добавлены;</p>
+ * <p><b>Conflicts</b> — Поле первые из недобавленных строк в порядке номеров, их количество ограничено
+ * свойством <b>shareit.users.import.max-reported-conflicts</b>.</p>
+ *
+ * @author Igor Ivanov
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportResultDto {
+    private Long total;
+    private Long imported;
+    private Long rejected;
+    private List<UserImportConflictDto> conflicts;
+}
@@ -0,0 +1,15 @@
+-- Объекты схемы для H2 (тесты и профиль ci). Выполняется после schema.sql.
+
+-- Промежуточная таблица массового импорта пользователей: строки одного импорта загружаются сюда,
+-- проверяются на конфликты e-mail и переносятся в users, затем удаляются.
+-- В PostgreSQL таблица создается без журналирования, см. schema-postgresql.sql
+CREATE TABLE IF NOT EXISTS users_import
+(
+    import_id UUID   NOT NULL,
+    line_no   BIGINT NOT NULL,
+    name      VARCHAR,
+    email     VARCHAR,
+    status    VARCHAR(16),
+    CONSTRAINT pk_users_import PRIMARY KEY (import_id, line_no)
+);
+CREATE INDEX IF NOT EXISTS ix_users_import_import_id_email ON users_import (import_id, email);
@@ -0,0 +1,46 @@
+-- Объекты схемы, которые есть только в PostgreSQL. Выполняется после schema.sql.
+
+-- Полнотекстовый поиск по вещам
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (setweight(to_tsvector('russian', name), 'A') ||
+                             setweight(to_tsvector('english', name), 'A') ||
+                             setweight(to_tsvector('russian', description), 'B') ||
+                             setweight(to_tsvector('english', description), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING GIN (search_vector);
+
+-- Последовательность ID вещей не должна выдавать ID, уже занятые вещами, добавленными до ее появления
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM items), (SELECT last_value FROM items_seq)));
+
+-- Количество комментариев вещей, добавленных до появления столбца comments_count
+UPDATE items
+SET comments_count = c.count
+FROM (SELECT item_id, COUNT(*) AS count FROM comments GROUP BY item_id) c
+WHERE items.id = c.item_id
+  AND items.comments_count <> c.count;
+
+-- Подтвержденные бронирования одной вещи не пересекаются по времени
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_id_period'') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT ex_bookings_item_id_period
+                EXCLUDE USING gist (item_id WITH =, tsrange(booking_from, booking_to) WITH &&)
+                WHERE (status = ''APPROVED'');
+    END IF;
+END';
+
+-- Промежуточная таблица массового импорта пользователей: строки одного импорта загружаются сюда,
+-- проверяются на конфликты e-mail и переносятся в users, затем удаляются.
+-- Строки живут одну транзакцию, журналировать их не нужно
+CREATE UNLOGGED TABLE IF NOT EXISTS users_import
+(
+    import_id UUID   NOT NULL,
+    line_no   BIGINT NOT NULL,
+    name      VARCHAR,
+    email     VARCHAR,
+    status    VARCHAR(16),
+    CONSTRAINT pk_users_import PRIMARY KEY (import_id, line_no)
+);
+CREATE INDEX IF NOT EXISTS ix_users_import_import_id_email ON users_import (import_id, email);
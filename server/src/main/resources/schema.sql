@@ -19,6 +19,7 @@ CREATE TABLE IF NOT EXISTS requests
     CONSTRAINT pk_requests PRIMARY KEY (id)
 );
 CREATE INDEX IF NOT EXISTS fk_requests_requester_id ON requests (requester_id);
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (created DESC, id DESC);
 
 -- Таблица вещей
 CREATE TABLE IF NOT EXISTS items
@@ -34,7 +35,11 @@ CREATE TABLE IF NOT EXISTS items
         CONSTRAINT fk_items_request_id_requests_id REFERENCES requests (id),
     CONSTRAINT pk_items PRIMARY KEY (id)
 );
-CREATE INDEX IF NOT EXISTS fk_items_owner_id ON items (owner_id);
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comments_count INTEGER NOT NULL DEFAULT 0;
+DROP INDEX IF EXISTS fk_items_owner_id;
+CREATE INDEX IF NOT EXISTS ix_items_owner_id_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS ix_items_request_id_id ON items (request_id, id);
 
 -- Таблица комментариев
 CREATE TABLE IF NOT EXISTS comments
@@ -48,7 +53,8 @@ CREATE TABLE IF NOT EXISTS comments
         CONSTRAINT fk_comments_author_id_users_id REFERENCES users (id) ON DELETE CASCADE,
     CONSTRAINT pk_comments PRIMARY KEY (id)
 );
-CREATE INDEX IF NOT EXISTS fk_comments_item_id ON comments (item_id);
+DROP INDEX IF EXISTS fk_comments_item_id;
+CREATE INDEX IF NOT EXISTS ix_comments_item_id_created ON comments (item_id, created DESC, id DESC);
 CREATE INDEX IF NOT EXISTS fk_comments_author_id ON comments (author_name_id);
 
 -- Таблица бронирования
@@ -64,5 +70,26 @@ CREATE TABLE IF NOT EXISTS bookings
     status       VARCHAR(50)                             NOT NULL,
     CONSTRAINT pk_bookings PRIMARY KEY (id)
 );
-CREATE INDEX IF NOT EXISTS fk_bookings_item_id ON bookings (item_id);
-CREATE INDEX IF NOT EXISTS fk_bookings_booker_id ON bookings (booker_id);
\ No newline at end of file
+DROP INDEX IF EXISTS fk_bookings_item_id;
+DROP INDEX IF EXISTS fk_bookings_booker_id;
+-- Списки бронирований пользователя и владельца упорядочены по началу бронирования
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_from ON bookings (booker_id, booking_from DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_status_from ON bookings (booker_id, status, booking_from DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_from ON bookings (item_id, booking_from DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_status_from ON bookings (item_id, status, booking_from DESC);
+
+-- Фаза бронирования по времени, ее меняет BookingPhaseSweeper.
+-- Фаза заполняется один раз для бронирований, созданных до появления столбца, дальше столбец NOT NULL
+-- и UPDATE при старте не находит строк
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(20);
+UPDATE bookings
+SET phase = CASE
+                WHEN booking_to <= LOCALTIMESTAMP THEN 'PAST'
+                WHEN booking_from <= LOCALTIMESTAMP THEN 'CURRENT'
+                ELSE 'FUTURE' END
+WHERE phase IS NULL;
+ALTER TABLE bookings ALTER COLUMN phase SET NOT NULL;
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_phase_from ON bookings (booker_id, phase, booking_from DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_phase_from ON bookings (item_id, phase, booking_from DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_phase_from ON bookings (phase, booking_from);
+CREATE INDEX IF NOT EXISTS ix_bookings_phase_to ON bookings (phase, booking_to);
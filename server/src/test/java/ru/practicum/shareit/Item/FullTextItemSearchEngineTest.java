@@ -0,0 +1,19 @@
+package ru.practicum.shareit.Item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.FullTextItemSearchEngine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextItemSearchEngineTest {
+    @Test
+    void shouldBuildPrefixTsQueryTest() {
+        assertEquals("аккумуляторная:* & дрель:*", FullTextItemSearchEngine.toTsQuery(" Аккумуляторная  ДРЕЛЬ "));
+    }
+
+    @Test
+    void shouldDropTsQueryOperatorsTest() {
+        assertEquals("drill:* & saw:*", FullTextItemSearchEngine.toTsQuery("drill | !saw & ('"));
+        assertEquals("", FullTextItemSearchEngine.toTsQuery("&|!"));
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.Item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.data.ItemAndItemDtoData.item1;
+import static ru.practicum.shareit.data.ItemAndItemDtoData.item2;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCacheTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private ItemCache itemCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemCache = new ItemCache(itemRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldLoadItemOnceTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+
+        assertEquals(item1, itemCache.getItemById(1L).orElseThrow());
+        assertEquals(item1, itemCache.getItemById(1L).orElseThrow());
+
+        verify(itemRepository, times(1)).getItemById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "items").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "items").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldReturnCopyOfCachedItemTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+
+        Item first = itemCache.getItemById(1L).orElseThrow();
+        first.setName("changed");
+        first.getOwner().setName("changed");
+        Item second = itemCache.getItemById(1L).orElseThrow();
+
+        assertNotSame(item1, first);
+        assertNotSame(first, second);
+        assertEquals(item1.getName(), second.getName());
+        assertEquals(item1.getOwner().getName(), second.getOwner().getName());
+    }
+
+    @Test
+    void shouldNotCacheMissingItemTest() {
+        when(itemRepository.getItemById(3L)).thenReturn(Optional.empty());
+
+        assertTrue(itemCache.getItemById(3L).isEmpty());
+        assertTrue(itemCache.getItemById(3L).isEmpty());
+
+        verify(itemRepository, times(2)).getItemById(3L);
+    }
+
+    @Test
+    void shouldReloadEvictedItemTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+        itemCache.getItemById(1L);
+
+        itemCache.evict(1L);
+        itemCache.getItemById(1L);
+
+        verify(itemRepository, times(2)).getItemById(1L);
+    }
+
+    @Test
+    void shouldEvictOnlyOwnerItemsTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+        when(itemRepository.getItemById(2L)).thenReturn(Optional.of(item2));
+        itemCache.getItemById(1L);
+        itemCache.getItemById(2L);
+
+        itemCache.evictByOwnerId(item1.getOwner().getId());
+        itemCache.getItemById(1L);
+        itemCache.getItemById(2L);
+
+        verify(itemRepository, times(2)).getItemById(1L);
+        verify(itemRepository, times(1)).getItemById(2L);
+    }
+
+    @Test
+    void shouldEvictItemsOfDeletedUserTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+        when(itemRepository.getItemById(2L)).thenReturn(Optional.of(item2));
+        itemCache.getItemById(1L);
+        itemCache.getItemById(2L);
+
+        itemCache.onUserDeleted(new UserDeletedEvent(item1.getOwner().getId(), List.of(1L)));
+        itemCache.getItemById(1L);
+        itemCache.getItemById(2L);
+
+        verify(itemRepository, times(2)).getItemById(1L);
+        verify(itemRepository, times(1)).getItemById(2L);
+    }
+
+    @Test
+    void shouldForgetItemLoadedInRolledBackTransactionTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemCache.getItemById(1L);
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        itemCache.getItemById(1L);
+
+        verify(itemRepository, times(2)).getItemById(1L);
+    }
+
+    @Test
+    void shouldEvictItemCachedBeforeCommitTest() {
+        when(itemRepository.getItemById(1L)).thenReturn(Optional.of(item1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemCache.evict(1L);
+            // Параллельный запрос загружает вещь до фиксации изменения
+            itemCache.getItemById(1L);
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        itemCache.getItemById(1L);
+
+        verify(itemRepository, times(2)).getItemById(1L);
+    }
+
+    private static void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
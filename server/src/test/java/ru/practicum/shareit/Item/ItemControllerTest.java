@@ -17,11 +17,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
@@ -36,6 +39,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -70,8 +74,8 @@ class ItemControllerTest {
         user2 = new User(2L, "user2", "user2@user.com");
         itemDto = new ItemDto(1L, "item", "description", false, null, null);
         itemDtoWithBooking = new ItemDtoWithBooking(1L, "item", "description", false,
-                null, null, null);
-        item1 = new Item(1L, "item 1", "item 1 description", true, user, null);
+                null, null, 0, null);
+        item1 = new Item(1L, "item 1", "item 1 description", true, user, null, 0);
         comment1 = new Comment(1L, "Comment", user2, item1,
                 LocalDateTime.of(2023, 10, 20, 12, 0));
         int page = from / size;
@@ -94,6 +98,37 @@ class ItemControllerTest {
                 .getAllItemsForOwnerWithId(anyLong(), any(PageRequest.class));
     }
 
+    @Test
+    void shouldGetAllItemsForOwnerWithIdAfterCursorTest() throws Exception {
+        when(itemService.getAllItemsForOwnerWithId(anyLong(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(itemDtoWithBooking), "Mg"));
+
+        mockMvc.perform(mockAction(get("/items?after=&size=1"), user.getId(), itemDto))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "Mg"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(itemDtoWithBooking.getId()));
+
+        verify(itemService, times(1))
+                .getAllItemsForOwnerWithId(1L, "", 1);
+        verify(itemService, never())
+                .getAllItemsForOwnerWithId(anyLong(), any(PageRequest.class));
+    }
+
+    @Test
+    void shouldSearchItemsAfterCursorWithoutNextCursorTest() throws Exception {
+        when(itemService.searchItemByText(anyString(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(itemDto), null));
+
+        mockMvc.perform(mockAction(get("/items/search?text=item&after=Mg"), user.getId(), itemDto))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService, times(1))
+                .searchItemByText("item", "Mg", 10);
+    }
+
     @Test
     void shouldGetItemByIdTest() throws Exception {
         when(itemService.getItemById(anyLong(), anyLong()))
@@ -148,6 +183,76 @@ class ItemControllerTest {
                 .addItemForUserWithId(any(), anyLong());
     }
 
+    @Test
+    void shouldAddItemsForUserWithIdTest() throws Exception {
+        when(itemService.addItemsForUserWithId(anyList(), anyLong()))
+                .thenReturn(List.of(new ItemBatchResultDto(0, itemDto, null),
+                        new ItemBatchResultDto(1, null, "Запрос с ID = 99 не найден.")));
+
+        mockMvc.perform(post("/items/batch")
+                        .content(mapper.writeValueAsString(List.of(itemDto, itemDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$", hasSize(2)),
+                        jsonPath("$[0].item.id").value(itemDto.getId()),
+                        jsonPath("$[1].index").value(1),
+                        jsonPath("$[1].error").value("Запрос с ID = 99 не найден."));
+
+        verify(itemService, times(1))
+                .addItemsForUserWithId(anyList(), anyLong());
+    }
+
+    @Test
+    void shouldSuggestItemNamesTest() throws Exception {
+        when(itemService.suggestItemNames(anyString(), anyInt()))
+                .thenReturn(List.of("дрель", "дрезина"));
+
+        mockMvc.perform(mockAction(get("/items/suggest?prefix=дре&size=2"), user.getId(), itemDto))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$", hasSize(2)),
+                        jsonPath("$[0]").value("дрель"));
+
+        verify(itemService, times(1))
+                .suggestItemNames("дре", 2);
+    }
+
+    @Test
+    void shouldGetCommentsTest() throws Exception {
+        CommentDto commentDto = new CommentDto(1L, "Comment", "user2", LocalDateTime.of(2023, 10, 20, 12, 0));
+        when(itemService.getComments(anyLong(), anyLong(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(commentDto), "Mg"));
+
+        mockMvc.perform(mockAction(get("/items/1/comments?size=1"), user.getId(), itemDto))
+                .andExpectAll(status().isOk(),
+                        header().string(CursorPage.NEXT_CURSOR_HEADER, "Mg"),
+                        jsonPath("$", hasSize(1)),
+                        jsonPath("$[0].text").value(commentDto.getText()));
+
+        verify(itemService, times(1))
+                .getComments(1L, 1L, "", 1);
+    }
+
+    @Test
+    void shouldGetAvailabilityTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 3, 1, 0, 0);
+        when(itemService.getAvailability(anyLong(), anyLong(), any(), any()))
+                .thenReturn(List.of(new AvailabilitySlotDto(from, from.plusDays(10)),
+                        new AvailabilitySlotDto(from.plusDays(12), to)));
+
+        mockMvc.perform(mockAction(get("/items/1/availability?from=2030-01-01T00:00:00&to=2030-03-01T00:00:00"),
+                        user.getId(), itemDto))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$", hasSize(2)),
+                        jsonPath("$[1].start").value("2030-01-13T00:00:00"));
+
+        verify(itemService, times(1))
+                .getAvailability(user.getId(), 1L, from, to);
+    }
+
     @Test
     void shouldAddCommentTest() throws Exception {
         CommentDto commentDto = CommentDto.builder()
@@ -19,7 +19,7 @@ class ItemMapperTest {
         assertEquals(1, itemDto.getId());
         assertEquals("item1", itemDto.getName());
         assertEquals("item1Description", itemDto.getDescription());
-        assertEquals(item1.getOwner(), itemDto.getOwner());
+        assertEquals(item1.getOwner().getId(), itemDto.getOwnerId());
         assertEquals(true, itemDto.getAvailable());
         assertNull(itemDto.getRequestId());
     }
@@ -43,9 +43,7 @@ class ItemMapperTest {
         assertEquals(1, item.getId());
         assertEquals("itemDto1", item.getName());
         assertEquals("itemDto1Description", item.getDescription());
-        assertEquals(itemDto1.getOwner().getId(), item.getOwner().getId());
-        assertEquals(itemDto1.getOwner().getName(), item.getOwner().getName());
-        assertEquals(itemDto1.getOwner().getEmail(), item.getOwner().getEmail());
+        assertEquals(itemDto1.getOwnerId(), item.getOwner().getId());
         assertEquals(true, item.getAvailable());
         assertEquals(0L, item.getRequestId());
     }
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.Item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameSuggesterTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ItemNameSuggester(itemRepository, 2, 100);
+        suggester.index(1L, "Аккумуляторная дрель", true);
+        suggester.index(2L, "Дрель ударная", true);
+        suggester.index(3L, "Дрожжи", false);
+    }
+
+    @Test
+    void shouldSuggestAvailableItemNameWordsTest() {
+        assertEquals(List.of("дрель"), suggester.suggest("ДР", 10));
+        assertEquals(List.of("ударная"), suggester.suggest("дрель уда", 10));
+        assertEquals(List.of(), suggester.suggest("  ", 10));
+    }
+
+    @Test
+    void shouldLimitSuggestionsTest() {
+        suggester.index(4L, "Дрезина", true);
+        suggester.index(5L, "Дренажный насос", true);
+
+        assertEquals(List.of("дрель", "дрезина"), suggester.suggest("дре", 10));
+        assertEquals(List.of("дрель"), suggester.suggest("дре", 1));
+    }
+
+    @Test
+    void shouldUpdateItemWordsTest() {
+        suggester.index(3L, "Дрожжи", true);
+        suggester.index(1L, "Аккумуляторная отвертка", true);
+        suggester.index(2L, "Дрель ударная", false);
+
+        assertEquals(List.of("дрожжи"), suggester.suggest("др", 10));
+        assertEquals(List.of("отвертка"), suggester.suggest("о", 10));
+    }
+
+    @Test
+    void shouldRemoveItemWordsOfDeletedUserTest() {
+        suggester.onUserDeleted(new UserDeletedEvent(5L, List.of(2L)));
+
+        assertEquals(List.of("дрель"), suggester.suggest("дре", 10));
+        suggester.onUserDeleted(new UserDeletedEvent(6L, List.of(1L)));
+        assertEquals(List.of(), suggester.suggest("дре", 10));
+    }
+
+    @Test
+    void shouldApplyChangesOnlyAfterCommitTest() {
+        Item item = new Item();
+        item.setId(4L);
+        item.setName("Дрезина");
+        item.setAvailable(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            suggester.index(item);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization
+                            .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of("дрель"), suggester.suggest("дре", 10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            suggester.index(item);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of("дрель", "дрезина"), suggester.suggest("дре", 10));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -51,4 +52,14 @@ class ItemRepositoryTest {
         assertEquals(2, items.size());
         assertEquals(1L, items.stream().findFirst().get().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemDtosByIds() {
+        List<ItemDto> items = itemRepository.getItemDtosByIds(List.of(item1.getId(), item2.getId()));
+
+        assertEquals(2, items.size());
+        assertEquals(item1.getName(), items.get(0).getName());
+        assertEquals(user1.getId(), items.get(0).getOwnerId());
+        assertEquals(user2.getId(), items.get(1).getOwnerId());
+    }
+}
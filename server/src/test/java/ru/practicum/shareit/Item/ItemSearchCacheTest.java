@@ -0,0 +1,102 @@
+package ru.practicum.shareit.Item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTest {
+    private final ItemDto drill = ItemDto.builder().id(1L).name("Дрель").description("Ударная дрель").ownerId(1L).build();
+    private final ItemDto tent = ItemDto.builder().id(2L).name("Палатка").description("Туристическая палатка").ownerId(2L).build();
+
+    private MeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(meterRegistry, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldNormalizeTextTest() {
+        assertEquals("ударная дрель", ItemSearchCache.normalize("  Ударная   ДРЕЛЬ "));
+    }
+
+    @Test
+    void shouldCacheByNormalizedTextAndPageTest() {
+        search("дрель", PageRequest.of(0, 10));
+        search(" ДРЕЛЬ ", PageRequest.of(0, 10));
+        search("дрель", PageRequest.of(1, 10));
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0 / 3, meterRegistry.get("cache.hit.ratio").tag("cache", "itemSearch").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void shouldEvictOnlyMatchingQueriesTest() {
+        search("дре", null);
+        search("ель", null);
+        search("палатка", null);
+        search("ударная палатка", null);
+
+        cache.evictItem("Дрель", "Аккумуляторная дрель");
+        search("дре", null);
+        search("ель", null);
+        search("палатка", null);
+        search("ударная палатка", null);
+
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    void shouldEvictItemsOfDeletedUserTest() {
+        search("дрель", null);
+        search("палатка", null);
+
+        cache.onUserDeleted(new UserDeletedEvent(2L, List.of()));
+        search("дрель", null);
+        search("палатка", null);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldEvictAfterCommitTest() {
+        search("дрель", null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictItem("Дрель", "Аккумуляторная дрель");
+            // Поиск до фиксации видит прежнее состояние и берет его из кэша
+            search("дрель", null);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        search("дрель", null);
+
+        assertEquals(2, loads.get());
+    }
+
+    private void search(String text, PageRequest pageRequest) {
+        cache.get(text, pageRequest, () -> {
+            loads.incrementAndGet();
+            return text.contains("дре") ? List.of(drill) : List.of(tent);
+        });
+    }
+}
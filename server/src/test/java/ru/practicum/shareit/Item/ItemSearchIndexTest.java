@@ -0,0 +1,141 @@
+package ru.practicum.shareit.Item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository);
+        index.index(1L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true);
+        index.index(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        index.index(3L, "Клей Момент", "Тюбик суперклея марки Момент", false);
+    }
+
+    @Test
+    void shouldTokenizeTextTest() {
+        assertEquals(Set.of("дрель", "2", "в", "1"), ItemSearchIndex.tokenize("Дрель 2-в-1!"));
+        assertEquals(Set.of(), ItemSearchIndex.tokenize("  "));
+    }
+
+    @Test
+    void shouldSearchByPrefixIgnoreCaseTest() {
+        assertEquals(List.of(1L, 2L), index.search("АККУМ"));
+        assertEquals(List.of(1L), index.search("дРелЬ"));
+    }
+
+    @Test
+    void shouldSearchBySubstringTest() {
+        assertEquals(List.of(1L), index.search("ель"));
+        assertEquals(List.of(1L), index.search("ЛЬ"));
+        assertEquals(List.of(1L, 2L), index.search("ная"));
+        assertEquals(List.of(1L), index.search("дрель + акк"));
+        assertEquals(List.of(), index.search("дрель отвертка"));
+    }
+
+    @Test
+    void shouldSearchAllWordsTest() {
+        assertEquals(List.of(2L), index.search("аккумуляторная отвертка"));
+        assertEquals(List.of(), index.search("дрель отвертка"));
+    }
+
+    @Test
+    void shouldSkipNotAvailableItemsTest() {
+        assertEquals(List.of(), index.search("момент"));
+
+        index.index(3L, "Клей Момент", "Тюбик суперклея марки Момент", true);
+
+        assertEquals(List.of(3L), index.search("момент"));
+    }
+
+    @Test
+    void shouldReindexUpdatedItemTest() {
+        index.index(1L, "Перфоратор", "Мощный перфоратор", true);
+
+        assertEquals(List.of(), index.search("дрель"));
+        assertEquals(List.of(1L), index.search("перфоратор"));
+        assertEquals(List.of(2L), index.search("аккумуляторная"));
+    }
+
+    @Test
+    void shouldRemoveItemsOfDeletedUserTest() {
+        index.onUserDeleted(new UserDeletedEvent(5L, List.of(2L)));
+
+        assertEquals(List.of(1L), index.search("аккумуляторная"));
+    }
+
+    @Test
+    void shouldApplyChangesAfterCommitTest() {
+        Item item = newItem();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(item);
+
+            assertEquals(List.of(1L, 2L), index.search("аккумуляторн"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(1L, 2L, 4L), index.search("аккумуляторн"));
+    }
+
+    @Test
+    void shouldIgnoreChangesOfRolledBackTransactionTest() {
+        Item item = newItem();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(item);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization
+                            .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(1L, 2L), index.search("аккумуляторн"));
+    }
+
+    @Test
+    void shouldSearchWithCursorTest() {
+        index.index(4L, "Аккумулятор", "Аккумулятор для шуруповерта", true);
+
+        CursorPage<Long> first = index.search("аккум", "", 2);
+        assertEquals(List.of(1L, 2L), first.getContent());
+
+        CursorPage<Long> second = index.search("аккум", first.getNextCursor(), 2);
+        assertEquals(List.of(4L), second.getContent());
+        assertNull(second.getNextCursor());
+    }
+
+    private static Item newItem() {
+        Item item = new Item();
+        item.setId(4L);
+        item.setName("Шуруповерт");
+        item.setDescription("Аккумуляторный шуруповерт");
+        item.setAvailable(true);
+        return item;
+    }
+}
@@ -7,23 +7,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,8 +42,12 @@ public class ItemServiceImplIntegrationTest {
 
     private final ItemServiceImpl service;
 
+    private final UserService userService;
+
     private User user;
 
+    private boolean committed;
+
     @BeforeEach
     void beforeEach() {
         user = User.builder()
@@ -49,6 +60,10 @@ public class ItemServiceImplIntegrationTest {
 
     @AfterEach
     void afterEach() {
+        if (committed) {
+            // Пользователь удаляется вместе с вещами, вещи удаляются из поискового индекса
+            userService.delete(user.getId());
+        }
         em.createNativeQuery("truncate table users");
         em.createNativeQuery("truncate table items");
         em.createNativeQuery("truncate table bookings");
@@ -335,6 +350,41 @@ public class ItemServiceImplIntegrationTest {
         assertEquals(item.getAvailable(), itemDto.getAvailable());
     }
 
+    @Test
+    void shouldAddItemsInBatchTest() {
+        List<ItemDto> itemDtoList = List.of(
+                ItemDto.builder().name("name1").description("description1").available(true).build(),
+                ItemDto.builder().name(" ").description("description2").available(true).build(),
+                ItemDto.builder().name("name3").description("description3").available(false).requestId(999L).build(),
+                ItemDto.builder().name("name4").description("description4").available(false).build());
+
+        List<ItemBatchResultDto> results = service.addItemsForUserWithId(itemDtoList, user.getId());
+        List<Item> itemsBase = em.createQuery("SELECT i from Item i where i.owner.id = :id order by i.id", Item.class)
+                .setParameter("id", user.getId())
+                .getResultList();
+
+        assertEquals(4, results.size());
+        assertEquals(2, itemsBase.size());
+        assertNull(results.get(0).getError());
+        assertEquals(itemsBase.get(0).getId(), results.get(0).getItem().getId());
+        assertEquals(user.getId(), results.get(0).getItem().getOwnerId());
+        assertNull(results.get(1).getItem());
+        assertNotNull(results.get(1).getError());
+        assertNull(results.get(2).getItem());
+        assertEquals("Запрос с ID = 999 не найден.", results.get(2).getError());
+        assertEquals(3, results.get(3).getIndex());
+        assertEquals(itemsBase.get(1).getId(), results.get(3).getItem().getId());
+        assertEquals(false, itemsBase.get(1).getAvailable());
+    }
+
+    @Test
+    void shouldNotAddItemsInBatchForUnknownUserTest() {
+        List<ItemDto> itemDtoList = List.of(
+                ItemDto.builder().name("name").description("description").available(true).build());
+
+        assertThrows(NotFoundException.class, () -> service.addItemsForUserWithId(itemDtoList, 999L));
+    }
+
     @Test
     void shouldFindAllUserItemsWithoutPageTest() {
         ItemDto itemDto = ItemDto.builder()
@@ -395,6 +445,97 @@ public class ItemServiceImplIntegrationTest {
         assertEquals(items.get(1).getAvailable(), itemsBase.get(1).getAvailable());
     }
 
+    @Test
+    void shouldFindAllUserItemsAfterCursorTest() {
+        for (int i = 1; i <= 3; i++) {
+            service.addItemForUserWithId(ItemDto.builder()
+                    .name("name" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .build(), user.getId());
+        }
+        List<Item> itemsBase = em.createQuery("SELECT i from Item i where i.owner.id = :id order by i.id", Item.class)
+                .setParameter("id", user.getId())
+                .getResultList();
+
+        CursorPage<ItemDtoWithBooking> first = service.getAllItemsForOwnerWithId(user.getId(), "", 2);
+        CursorPage<ItemDtoWithBooking> second = service.getAllItemsForOwnerWithId(user.getId(), first.getNextCursor(), 2);
+
+        assertEquals(2, first.getContent().size());
+        assertEquals(itemsBase.get(0).getId(), first.getContent().get(0).getId());
+        assertEquals(itemsBase.get(1).getId(), first.getContent().get(1).getId());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getContent().size());
+        assertEquals(itemsBase.get(2).getId(), second.getContent().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void shouldThrowExceptionForMalformedCursorTest() {
+        assertThrows(BadRequestException.class, () -> service.getAllItemsForOwnerWithId(user.getId(), "???", 2));
+    }
+
+    @Test
+    void shouldFindAllUserItemsWithBookingsAndCommentsTest() {
+        User booker = User.builder()
+                .name("booker")
+                .email("booker@email.ru")
+                .build();
+        em.persist(booker);
+        Item item1 = Item.builder()
+                .owner(user)
+                .name("name1")
+                .description("description1")
+                .available(true)
+                .build();
+        Item item2 = Item.builder()
+                .owner(user)
+                .name("name2")
+                .description("description2")
+                .available(true)
+                .build();
+        em.persist(item1);
+        em.persist(item2);
+
+        Booking lastBooking = Booking.builder()
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .item(item1)
+                .build();
+        Booking nextBooking = Booking.builder()
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(3))
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .item(item2)
+                .build();
+        em.persist(lastBooking);
+        em.persist(nextBooking);
+
+        Comment comment = Comment.builder()
+                .text("comment")
+                .authorName(booker)
+                .item(item1)
+                .created(LocalDateTime.now())
+                .build();
+        em.persist(comment);
+
+        List<ItemDtoWithBooking> items = service.getAllItemsForOwnerWithId(user.getId(), PageRequest.of(0, 10));
+
+        assertEquals(2, items.size());
+        assertEquals(lastBooking.getId(), items.get(0).getLastBooking().getId());
+        assertEquals(booker.getId(), items.get(0).getLastBooking().getBookerId());
+        assertNull(items.get(0).getNextBooking());
+        assertEquals(1, items.get(0).getComments().size());
+        assertEquals("comment", items.get(0).getComments().get(0).getText());
+        assertEquals("booker", items.get(0).getComments().get(0).getAuthorName());
+        assertNull(items.get(1).getLastBooking());
+        assertEquals(nextBooking.getId(), items.get(1).getNextBooking().getId());
+        assertEquals(List.of(), items.get(1).getComments());
+    }
+
     @Test
     void addCommentCorrect() {
         Item item = Item.builder()
@@ -434,6 +575,93 @@ public class ItemServiceImplIntegrationTest {
 
     }
 
+    @Test
+    void shouldGetFreeSlotsBetweenActiveBookingsTest() {
+        Item item = Item.builder()
+                .owner(user)
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+        em.persist(item);
+        User booker = User.builder()
+                .name("booker")
+                .email("booker@email.ru")
+                .build();
+        em.persist(booker);
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        em.persist(Booking.builder()
+                .start(from.plusDays(10))
+                .end(from.plusDays(12))
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .item(item)
+                .build());
+        em.persist(Booking.builder()
+                .start(from.plusDays(20))
+                .end(from.plusDays(25))
+                .booker(booker)
+                .status(BookingStatus.REJECTED)
+                .item(item)
+                .build());
+        em.persist(Booking.builder()
+                .start(from.plusDays(40))
+                .end(from.plusDays(100))
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .item(item)
+                .build());
+
+        List<AvailabilitySlotDto> slots = service.getAvailability(user.getId(), item.getId(), from, from.plusDays(90));
+
+        assertEquals(List.of(new AvailabilitySlotDto(from, from.plusDays(10)),
+                new AvailabilitySlotDto(from.plusDays(12), from.plusDays(40))), slots);
+        assertThrows(BadRequestException.class,
+                () -> service.getAvailability(user.getId(), item.getId(), from, from));
+    }
+
+    @Test
+    void shouldCountCommentsAndPageThemFromNewestTest() {
+        Item item = Item.builder()
+                .owner(user)
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+        em.persist(item);
+        User booker = User.builder()
+                .name("booker")
+                .email("booker@email.ru")
+                .build();
+        em.persist(booker);
+        em.persist(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .item(item)
+                .build());
+        for (int i = 1; i <= 3; i++) {
+            service.addComment(booker.getId(), CommentDto.builder().text("comment" + i).build(), item.getId());
+        }
+
+        ItemDtoWithBooking itemDto = service.getItemById(user.getId(), item.getId());
+        CursorPage<CommentDto> first = service.getComments(user.getId(), item.getId(), "", 2);
+        CursorPage<CommentDto> second = service.getComments(user.getId(), item.getId(), first.getNextCursor(), 2);
+
+        assertEquals(3, itemDto.getCommentsCount());
+        assertEquals(3, itemDto.getComments().size());
+        assertEquals("comment3", itemDto.getComments().get(0).getText());
+        assertEquals(List.of("comment3", "comment2"), first.getContent().stream()
+                .map(CommentDto::getText)
+                .collect(Collectors.toList()));
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of("comment1"), second.getContent().stream()
+                .map(CommentDto::getText)
+                .collect(Collectors.toList()));
+        assertNull(second.getNextCursor());
+    }
+
     @Test
     void shouldAddCommentWhenUserIdNotInDbTest() {
         ItemDto itemDto = service.addItemForUserWithId(ItemDto.builder()
@@ -492,6 +720,7 @@ public class ItemServiceImplIntegrationTest {
                         .available(true)
                         .build(),
                 user.getId());
+        commitTestTransaction();
 
         List<ItemDto> items = service.searchItemByText("name", null);
         TypedQuery<Item> query = em.createQuery("SELECT i from Item i", Item.class);
@@ -523,6 +752,7 @@ public class ItemServiceImplIntegrationTest {
                         .available(true)
                         .build(),
                 user.getId());
+        commitTestTransaction();
 
         List<ItemDto> items = service.searchItemByText("description", null);
         TypedQuery<Item> query = em.createQuery("SELECT i from Item i", Item.class);
@@ -573,6 +803,7 @@ public class ItemServiceImplIntegrationTest {
                         .available(true)
                         .build(),
                 user.getId());
+        commitTestTransaction();
 
         List<ItemDto> items = service.searchItemByText("description", null);
         TypedQuery<Item> query = em.createQuery("SELECT i from Item i", Item.class);
@@ -588,4 +819,32 @@ public class ItemServiceImplIntegrationTest {
         assertEquals(items.get(1).getDescription(), itemsBase.get(1).getDescription());
         assertEquals(items.get(1).getAvailable(), itemsBase.get(1).getAvailable());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotFindOrSuggestItemsOfDeletedOwnerTest() {
+        service.addItemForUserWithId(ItemDto.builder()
+                        .name("drill")
+                        .description("description")
+                        .available(true)
+                        .build(),
+                user.getId());
+        commitTestTransaction();
+        assertEquals(1, service.searchItemByText("drill", null).size());
+        assertEquals(List.of("drill"), service.suggestItemNames("dri", 10));
+
+        userService.delete(user.getId());
+        committed = false;
+
+        assertEquals(0, service.searchItemByText("drill", null).size());
+        assertEquals(List.of(), service.suggestItemNames("dri", 10));
+    }
+
+    /**
+     * Поисковый индекс обновляется после фиксации транзакции, поэтому добавленные вещи фиксируются до поиска.
+     */
+    private void commitTestTransaction() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        committed = true;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.Item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.RadixTrie;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RadixTrieTest {
+    private RadixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RadixTrie();
+        trie.add("дрель", 5);
+        trie.add("дрели", 1);
+        trie.add("домкрат", 3);
+        trie.add("доска", 3);
+        trie.add("палатка", 2);
+    }
+
+    @Test
+    void shouldCompleteByWeightThenAlphabetTest() {
+        assertEquals(List.of("дрель", "домкрат", "доска", "дрели"), trie.complete("д", 10, 100));
+        assertEquals(List.of("дрель", "дрели"), trie.complete("дрел", 10, 100));
+        assertEquals(List.of("домкрат"), trie.complete("дом", 10, 100));
+        assertEquals(List.of(), trie.complete("дрелька", 10, 100));
+        assertEquals(List.of(), trie.complete("к", 10, 100));
+    }
+
+    @Test
+    void shouldLimitResultsTest() {
+        assertEquals(List.of("дрель", "домкрат"), trie.complete("", 2, 100));
+        assertTrue(trie.complete("д", 10, 1).isEmpty());
+    }
+
+    @Test
+    void shouldUpdateAndRemoveWordsTest() {
+        trie.add("дрель", -5);
+        trie.add("доска", 4);
+
+        assertEquals(0, trie.weight("дрель"));
+        assertEquals(7, trie.weight("доска"));
+        assertEquals(List.of("доска", "домкрат", "дрели"), trie.complete("д", 10, 100));
+
+        trie.add("дрели", -1);
+        trie.add("домкрат", -3);
+        trie.add("доска", -7);
+        trie.add("палатка", -2);
+
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void shouldSplitAndMergeEdgesTest() {
+        trie.add("до", 1);
+
+        assertEquals(1, trie.weight("до"));
+        assertEquals(List.of("домкрат", "доска", "до"), trie.complete("до", 10, 100));
+
+        trie.add("до", -1);
+
+        assertEquals(0, trie.weight("до"));
+        assertEquals(3, trie.weight("домкрат"));
+        assertEquals(List.of("домкрат", "доска"), trie.complete("до", 10, 100));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.AvailabilityEngine;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Вытеснение расписания из кэша между бронированием и фиксацией транзакции.
+ * БД (mock) возвращает только зафиксированные бронирования.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityEngineEvictionTest {
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final LocalDateTime END = START.plusHours(2);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private AvailabilityEngine availabilityEngine;
+
+    @BeforeEach
+    void setUp() {
+        availabilityEngine = new AvailabilityEngine(bookingRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(30));
+        when(bookingRepository.findIntervalsByItemId(ITEM_ID, AvailabilityEngine.ACTIVE_STATUSES))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void shouldRejectOverlappingBookingWhenScheduleEvictedBeforeCommitTest() {
+        List<TransactionSynchronization> transaction = reserveInTransaction(10L);
+
+        availabilityEngine.evict(ITEM_ID);
+        assertThrows(BadRequestException.class, () -> availabilityEngine.reserve(ITEM_ID, START.plusHours(1),
+                END.plusHours(1), () -> booking(11L)));
+
+        complete(transaction, TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(availabilityEngine.isFree(ITEM_ID, START, END));
+        verify(bookingRepository, times(1)).findIntervalsByItemId(ITEM_ID, AvailabilityEngine.ACTIVE_STATUSES);
+    }
+
+    @Test
+    void shouldFreePeriodWhenEvictedScheduleRolledBackTest() {
+        List<TransactionSynchronization> transaction = reserveInTransaction(10L);
+
+        availabilityEngine.evict(ITEM_ID);
+        complete(transaction, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(availabilityEngine.isFree(ITEM_ID, START, END));
+    }
+
+    /**
+     * Бронирование в транзакции, которая остается незавершенной.
+     *
+     * @return синхронизации незавершенной транзакции.
+     */
+    private List<TransactionSynchronization> reserveInTransaction(Long bookingId) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityEngine.reserve(ITEM_ID, START, END, () -> booking(bookingId));
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(List<TransactionSynchronization> transaction, int status) {
+        transaction.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Booking booking(Long id) {
+        return Booking.builder()
+                .id(id)
+                .start(START)
+                .end(END)
+                .build();
+    }
+}
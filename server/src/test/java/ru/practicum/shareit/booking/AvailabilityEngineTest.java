@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.AvailabilityEngine;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение проверки пересечений по расписанию в памяти с запросом к БД.
+ * Время выполнения только выводится в лог.
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class AvailabilityEngineTest {
+    private static final int BOOKINGS = 1000;
+    private static final int CHECKS = 2000;
+
+    private final EntityManager em;
+
+    private final AvailabilityEngine availabilityEngine;
+
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void shouldMatchSqlOverlapCheckTest() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@email.ru");
+        em.persist(owner);
+
+        User booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@email.ru");
+        em.persist(booker);
+
+        Item item = new Item();
+        item.setName("item");
+        item.setDescription("description");
+        item.setOwner(owner);
+        item.setAvailable(true);
+        em.persist(item);
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            em.persist(Booking.builder()
+                    .start(base.plusHours(3L * i))
+                    .end(base.plusHours(3L * i + 2))
+                    .status(i % 10 == 0 ? BookingStatus.REJECTED : BookingStatus.WAITING)
+                    .booker(booker)
+                    .item(item)
+                    .build());
+        }
+        em.flush();
+        availabilityEngine.evict(item.getId());
+        availabilityEngine.isFree(item.getId(), base, base.plusMinutes(1));
+
+        Random random = new Random(42);
+        LocalDateTime[] starts = new LocalDateTime[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            starts[i] = base.plusMinutes(random.nextInt(BOOKINGS * 3 * 60));
+        }
+
+        boolean[] engineAnswers = new boolean[CHECKS];
+        long engineStart = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            engineAnswers[i] = availabilityEngine.isFree(item.getId(), starts[i], starts[i].plusMinutes(30));
+        }
+        long engineTime = System.nanoTime() - engineStart;
+
+        boolean[] sqlAnswers = new boolean[CHECKS];
+        long sqlStart = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            sqlAnswers[i] = !bookingRepository.existsOverlapping(item.getId(), starts[i], starts[i].plusMinutes(30),
+                    AvailabilityEngine.ACTIVE_STATUSES);
+        }
+        long sqlTime = System.nanoTime() - sqlStart;
+
+        for (int i = 0; i < CHECKS; i++) {
+            assertEquals(sqlAnswers[i], engineAnswers[i], "Период с " + starts[i]);
+        }
+        log.info("TEST: Проверок: {}, расписание: {} мкс/проверку, SQL: {} мкс/проверку.",
+                CHECKS, engineTime / CHECKS / 1000, sqlTime / CHECKS / 1000);
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.availability.AvailabilityEngine;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка добавления бронирований: 64 потока одновременно бронируют одну вещь
+ * на пересекающиеся периоды. Пересекающихся активных бронирований быть не должно.
+ * Пропускная способность только выводится в лог.
+ */
+@Slf4j
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTest {
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+    private static final int SLOTS = 200;
+
+    private final BookingService bookingService;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("owner").email("concurrency-owner@email.ru").build());
+        users.add(owner);
+        for (int i = 0; i < THREADS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .name("booker" + i)
+                    .email("concurrency-booker" + i + "@email.ru")
+                    .build()));
+        }
+        item = itemRepository.save(Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Вещи и бронирования удаляются каскадно в БД
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void shouldNotCreateOverlappingBookingsUnderContentionTest() throws InterruptedException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int i = 0; i < THREADS; i++) {
+            Long bookerId = users.get(i + 1).getId();
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                        int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+                        int hours = 1 + ThreadLocalRandom.current().nextInt(3);
+                        BookingDto bookingDto = BookingDto.builder()
+                                .itemId(item.getId())
+                                .start(base.plusHours(slot))
+                                .end(base.plusHours(slot + hours))
+                                .build();
+                        try {
+                            bookingService.addBooking(bookerId, bookingDto);
+                            created.incrementAndGet();
+                        } catch (BadRequestException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    log.error("TEST: Ошибка при добавлении бронирования.", e);
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        List<Booking> bookings = bookingsOfItem().stream()
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+        for (int i = 1; i < bookings.size(); i++) {
+            assertFalse(bookings.get(i).getStart().isBefore(bookings.get(i - 1).getEnd()),
+                    "Пересекаются бронирования " + bookings.get(i - 1).getId() + " и " + bookings.get(i).getId());
+        }
+        assertEquals(0, failed.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, created.get() + rejected.get());
+        assertEquals(created.get(), bookings.size());
+        log.info("TEST: Запросов: {}, создано: {}, отклонено: {}, за {} мс ({} запросов/с).",
+                THREADS * ATTEMPTS_PER_THREAD, created.get(), rejected.get(), elapsedMillis,
+                THREADS * ATTEMPTS_PER_THREAD * 1000L / elapsedMillis);
+    }
+
+    private List<Booking> bookingsOfItem() {
+        return bookingRepository.findIntervalsByItemId(item.getId(), AvailabilityEngine.ACTIVE_STATUSES).stream()
+                .map(interval -> bookingRepository.findById(interval.getId()).orElseThrow())
+                .collect(Collectors.toList());
+    }
+}
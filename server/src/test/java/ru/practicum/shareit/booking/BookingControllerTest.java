@@ -11,16 +11,27 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.events.BookingEventStream;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -28,6 +39,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class BookingControllerTest {
     @MockBean
     private BookingService service;
+    @MockBean
+    private BookingEventStream eventStream;
     @Autowired
     private MockMvc mockMvc;
     private final ObjectMapper mapper = JsonMapper.builder()
@@ -141,4 +154,74 @@ class BookingControllerTest {
                         jsonPath("$.start").value(bookingDto.getStart().toString() + ":00"),
                         jsonPath("$.end").value(bookingDto.getEnd().toString() + ":00"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void approveBookingsTest() throws Exception {
+        ResponseBookingDto bookingDto = ResponseBookingDto
+                .builder()
+                .id(1L)
+                .status(BookingStatus.APPROVED)
+                .build();
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+        when(service.approveBookings(1L, decisions))
+                .thenReturn(List.of(new BookingBatchResultDto(0, bookingDto, null),
+                        new BookingBatchResultDto(1, null, "Бронирование с ID = 2 не найдено.")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(decisions))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$[0].booking.status").value(BookingStatus.APPROVED.name()),
+                        jsonPath("$[1].error").value("Бронирование с ID = 2 не найдено."));
+    }
+
+    @Test
+    void getOwnerBookingsSummaryTest() throws Exception {
+        when(service.getOwnerBookingsSummary(1L))
+                .thenReturn(Map.of(BookingState.ALL, 3L, BookingState.WAITING, 1L));
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.ALL").value(3),
+                        jsonPath("$.WAITING").value(1));
+    }
+
+    @Test
+    void subscribeTest() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(eventStream.subscribe(1L, 5L)).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("Last-Event-ID", 5L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("6").name("booking").data("{}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpectAll(status().isOk(),
+                        content().string("id:6\nevent:booking\ndata:{}\n\n"));
+    }
+
+    @Test
+    void getOwnerBookingsAfterCursorTest() throws Exception {
+        List<ResponseBookingDto> bookings = List.of(
+                ResponseBookingDto.builder().id(9L).build(),
+                ResponseBookingDto.builder().id(8L).build());
+        when(service.getOwnerBookings(1L, "ALL", "cursor", 2))
+                .thenReturn(new CursorPage<>(bookings, "next"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "2")
+                        .param("after", "cursor"))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        header().string(CursorPage.NEXT_CURSOR_HEADER, "next"));
+    }
+}
@@ -0,0 +1,238 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.events.BookingChangedEvent;
+import ru.practicum.shareit.booking.events.BookingEventDto;
+import ru.practicum.shareit.booking.events.BookingEventStream;
+import ru.practicum.shareit.booking.events.BookingEventType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * События бронирований отправляются владельцу и бронирующему только после фиксации транзакции.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingEventStreamTest {
+    private final BookingService bookingService;
+
+    private final BookingEventStream eventStream;
+
+    private final ItemRepository itemRepository;
+
+    private final UserRepository userRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("events-owner@email.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("events-booker@email.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Вещи и бронирования удаляются каскадно в БД
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void shouldPublishEventsToOwnerAndBookerAfterCommitTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        BookingDto booking = bookingService.addBooking(booker.getId(), bookingDto(start));
+        bookingService.approveBooking(owner.getId(), booking.getId(), true);
+
+        List<BookingEventDto> ownerEvents = eventStream.getEventsAfter(owner.getId(), 0);
+        List<BookingEventDto> bookerEvents = eventStream.getEventsAfter(booker.getId(), 0);
+        assertEquals(2, ownerEvents.size());
+        assertEquals(ownerEvents, bookerEvents);
+        assertEquals(BookingEventType.CREATED, ownerEvents.get(0).getType());
+        assertEquals(BookingEventType.APPROVED, ownerEvents.get(1).getType());
+        assertEquals(booking.getId(), ownerEvents.get(1).getBooking().getId());
+        assertTrue(ownerEvents.get(0).getId() < ownerEvents.get(1).getId());
+
+        assertEquals(1, eventStream.getEventsAfter(owner.getId(), ownerEvents.get(0).getId()).size());
+    }
+
+    @Test
+    void shouldNotPublishEventsOfRolledBackTransactionTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingService.addBooking(booker.getId(), bookingDto(start));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(eventStream.getEventsAfter(owner.getId(), 0).isEmpty());
+        assertTrue(eventStream.getEventsAfter(booker.getId(), 0).isEmpty());
+    }
+
+    @Test
+    void shouldNotWaitForStalledSubscriberTest() throws InterruptedException {
+        BookingEventStream stream = new BookingEventStream(60_000, 10, 1, 10);
+        RecordingEmitter emitter = new RecordingEmitter(1);
+        try {
+            stream.subscribe(owner.getId(), null, emitter);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (long id = 1; id <= 3; id++) {
+                    stream.onBookingChanged(changed(id));
+                }
+            });
+            assertTrue(emitter.started.await(5, TimeUnit.SECONDS));
+            emitter.release.countDown();
+
+            emitter.awaitEvents(3);
+            assertEquals(List.of("1", "2", "3"), emitter.eventIds);
+            assertFalse(emitter.completed);
+        } finally {
+            emitter.release.countDown();
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    void shouldCloseSubscriberThatFallsBehindTest() throws InterruptedException {
+        BookingEventStream stream = new BookingEventStream(60_000, 2, 1, 10);
+        RecordingEmitter emitter = new RecordingEmitter(1);
+        try {
+            stream.subscribe(owner.getId(), null, emitter);
+            stream.onBookingChanged(changed(1L));
+            assertTrue(emitter.started.await(5, TimeUnit.SECONDS));
+
+            for (long id = 2; id <= 5; id++) {
+                stream.onBookingChanged(changed(id));
+            }
+            emitter.release.countDown();
+
+            assertTrue(emitter.completion.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("1"), emitter.eventIds);
+        } finally {
+            emitter.release.countDown();
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReplayMissedEventsBeforeLiveEventsWithoutDuplicatesTest() throws InterruptedException {
+        BookingEventStream stream = new BookingEventStream(60_000, 10, 1, 10);
+        RecordingEmitter emitter = new RecordingEmitter(0);
+        try {
+            stream.onBookingChanged(changed(1L));
+            stream.onBookingChanged(changed(2L));
+            stream.onBookingChanged(changed(3L));
+            long lastEventId = stream.getEventsAfter(owner.getId(), 0).get(0).getId();
+
+            stream.subscribe(owner.getId(), lastEventId, emitter);
+            stream.onBookingChanged(changed(4L));
+
+            emitter.awaitEvents(3);
+            assertEquals(List.of("2", "3", "4"), emitter.eventIds);
+        } finally {
+            stream.shutdown();
+        }
+    }
+
+    private BookingDto bookingDto(LocalDateTime start) {
+        return BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(2))
+                .build();
+    }
+
+    private BookingChangedEvent changed(Long bookingId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new BookingChangedEvent(BookingEventType.CREATED, Booking.builder()
+                .id(bookingId)
+                .start(start)
+                .end(start.plusHours(2))
+                .status(BookingStatus.WAITING)
+                .item(item)
+                .booker(booker)
+                .build());
+    }
+
+    /**
+     * Emitter, запоминающий ID отправленных событий. Первые blockedSends отправок ждут release,
+     * как при клиенте, который перестал читать ответ.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> eventIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private final int blockedSends;
+        private volatile boolean completed;
+
+        RecordingEmitter(int blockedSends) {
+            this.blockedSends = blockedSends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            started.countDown();
+            if (eventIds.size() < blockedSends) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String event = builder.build().iterator().next().getData().toString();
+            if (event.startsWith("id:")) {
+                eventIds.add(event.substring("id:".length(), event.indexOf('\n')));
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completion.countDown();
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            for (int i = 0; i < 500 && eventIds.size() < count; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, eventIds.size());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.lifecycle.BookingPhaseSweeper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingPhaseSweeperTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingPhaseSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new BookingPhaseSweeper(bookingRepository, 60_000);
+    }
+
+    @Test
+    void shouldMoveOnlyBookingsCrossingBoundaryTest() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findIntervalsByPhaseStartingBefore(eq(BookingPhase.FUTURE), any()))
+                .thenReturn(List.of(interval(1L, now.minusSeconds(1), now.plusSeconds(30)),
+                        interval(2L, now.plusSeconds(30), now.plusSeconds(60))));
+        when(bookingRepository.findIntervalsByPhaseEndingBefore(eq(BookingPhase.CURRENT), any()))
+                .thenReturn(List.of(interval(3L, now.minusHours(1), now.minusSeconds(1))));
+
+        sweeper.refill();
+        sweeper.sweep();
+
+        verify(bookingRepository, times(1)).markStarted(any());
+        verify(bookingRepository, times(1)).markFinished(any());
+        verify(bookingRepository, times(1))
+                .updatePhase(BookingPhase.CURRENT, List.of(1L), List.of(BookingPhase.FUTURE));
+        verify(bookingRepository, times(1))
+                .updatePhase(BookingPhase.PAST, List.of(3L), List.of(BookingPhase.FUTURE, BookingPhase.CURRENT));
+
+        sweeper.sweep();
+
+        verify(bookingRepository, times(2)).updatePhase(any(), anyCollection(), anyCollection());
+    }
+
+    @Test
+    void shouldTrackNewBookingWithinHorizonTest() {
+        sweeper.refill();
+        LocalDateTime now = LocalDateTime.now();
+        sweeper.track(Booking.builder().id(5L).start(now.minusSeconds(1)).end(now.plusDays(1)).build());
+        sweeper.track(Booking.builder().id(6L).start(now.plusDays(1)).end(now.plusDays(2)).build());
+
+        sweeper.sweep();
+
+        verify(bookingRepository, times(1))
+                .updatePhase(BookingPhase.CURRENT, List.of(5L), List.of(BookingPhase.FUTURE));
+        verify(bookingRepository, never()).updatePhase(eq(BookingPhase.PAST), anyCollection(), anyCollection());
+    }
+
+    @Test
+    void shouldTrackBookingCommittedDuringRefillTest() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = Booking.builder().id(7L).start(now.minusSeconds(1)).end(now.plusDays(1)).build();
+        AtomicReference<Thread> tracking = new AtomicReference<>();
+        // Бронирование фиксируется после выборки из БД, но до того, как пополнение сдвинет границу горизонта
+        when(bookingRepository.findIntervalsByPhaseStartingBefore(eq(BookingPhase.FUTURE), any()))
+                .thenAnswer(invocation -> {
+                    Thread thread = new Thread(() -> sweeper.track(booking));
+                    tracking.set(thread);
+                    thread.start();
+                    thread.join(200);
+                    return List.of();
+                });
+
+        sweeper.refill();
+        tracking.get().join();
+        sweeper.sweep();
+
+        verify(bookingRepository, times(1))
+                .updatePhase(BookingPhase.CURRENT, List.of(7L), List.of(BookingPhase.FUTURE));
+    }
+
+    private static BookingInterval interval(Long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
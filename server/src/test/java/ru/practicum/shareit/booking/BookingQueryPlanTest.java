@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка по плану запроса (EXPLAIN), что выборка бронирований в любом состоянии идет по индексам, без полного
+ * просмотра таблиц.
+ */
+@SpringBootTest(properties = SqlStatementCaptor.PROPERTY)
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingQueryPlanTest {
+    private static final Pattern BOOKINGS_SELECT = Pattern.compile("^select .* from (public\\.)?bookings ",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final EntityManager em;
+
+    private final BookingRepository bookingRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private User booker;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@email.ru");
+        em.persist(owner);
+
+        booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@email.ru");
+        em.persist(booker);
+
+        Item item = new Item();
+        item.setName("item");
+        item.setDescription("description");
+        item.setOwner(owner);
+        item.setAvailable(true);
+        em.persist(item);
+        em.flush();
+    }
+
+    @Test
+    void shouldUseIndexForEveryStateTest() {
+        for (BookingRole role : BookingRole.values()) {
+            Long userId = role == BookingRole.BOOKER ? booker.getId() : owner.getId();
+            for (BookingState state : BookingState.values()) {
+                String sql = SqlStatementCaptor.capture(() -> bookingRepository.findBookings(
+                                BookingSpecifications.of(role, userId, state),
+                                Sort.by(Sort.Direction.DESC, "start"),
+                                PageRequest.of(0, 10)))
+                        .stream()
+                        .filter(statement -> BOOKINGS_SELECT.matcher(statement).find())
+                        .findFirst()
+                        .orElseThrow();
+
+                String plan = explain(sql).toUpperCase(Locale.ROOT);
+
+                assertTrue(plan.contains("\"PUBLIC\".\"BOOKINGS\""), role + " " + state + ": " + plan);
+                assertFalse(plan.contains("TABLESCAN"), role + " " + state + ": " + plan);
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
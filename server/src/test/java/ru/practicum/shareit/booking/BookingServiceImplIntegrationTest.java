@@ -8,21 +8,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.AvailabilityEngine;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -33,6 +44,8 @@ class BookingServiceImplIntegrationTest {
 
     private final BookingServiceImpl service;
 
+    private final AvailabilityEngine availabilityEngine;
+
     private User user1;
 
     private User user2;
@@ -186,6 +199,174 @@ class BookingServiceImplIntegrationTest {
         assertThrows(BadRequestException.class, () -> service.addBooking(user2.getId(), bookingDto));
     }
 
+    @Test
+    void shouldAddBookingWhenPeriodIsAlreadyBookedTest() {
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        service.addBooking(user2.getId(), BookingDto.builder()
+                .start(start)
+                .end(start.plusHours(2))
+                .itemId(item.getId())
+                .build());
+        BookingDto overlapping = BookingDto.builder()
+                .start(start.plusHours(1))
+                .end(start.plusHours(3))
+                .itemId(item.getId())
+                .build();
+
+        assertThrows(BadRequestException.class, () -> service.addBooking(user2.getId(), overlapping));
+    }
+
+    @Test
+    void shouldAddBookingWhenOverlappingBookingIsRejectedTest() {
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        BookingDto rejected = service.addBooking(user2.getId(), BookingDto.builder()
+                .start(start)
+                .end(start.plusHours(2))
+                .itemId(item.getId())
+                .build());
+        service.approveBooking(user1.getId(), rejected.getId(), false);
+
+        BookingDto bookingDto = service.addBooking(user2.getId(), BookingDto.builder()
+                .start(start.plusHours(1))
+                .end(start.plusHours(3))
+                .itemId(item.getId())
+                .build());
+
+        assertEquals(BookingStatus.WAITING, bookingDto.getStatus());
+        assertThrows(BadRequestException.class,
+                () -> service.approveBooking(user1.getId(), rejected.getId(), true));
+    }
+
+    @Test
+    void shouldApproveRejectedBookingWhenScheduleIsNotLoadedTest() {
+        Booking rejected = Booking.builder()
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .status(BookingStatus.REJECTED)
+                .booker(user2)
+                .item(item)
+                .build();
+        em.persist(rejected);
+        em.flush();
+
+        // Расписание новой вещи еще не загружено и читается из БД при подтверждении
+        ResponseBookingDto approved = service.approveBooking(user1.getId(), rejected.getId(), true);
+
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertEquals(BookingStatus.APPROVED, em.find(Booking.class, rejected.getId()).getStatus());
+    }
+
+    @Test
+    void shouldApproveBookingsInBatchTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking waiting = Booking.builder()
+                .start(start)
+                .end(start.plusHours(1))
+                .status(BookingStatus.WAITING)
+                .booker(user2)
+                .item(item)
+                .build();
+        Booking toReject = Booking.builder()
+                .start(start.plusHours(2))
+                .end(start.plusHours(3))
+                .status(BookingStatus.WAITING)
+                .booker(user2)
+                .item(item)
+                .build();
+        Booking approved = Booking.builder()
+                .start(start.plusHours(4))
+                .end(start.plusHours(5))
+                .status(BookingStatus.APPROVED)
+                .booker(user2)
+                .item(item)
+                .build();
+        em.persist(waiting);
+        em.persist(toReject);
+        em.persist(approved);
+
+        List<BookingBatchResultDto> results = service.approveBookings(user1.getId(), List.of(
+                new BookingDecisionDto(waiting.getId(), true),
+                new BookingDecisionDto(toReject.getId(), false),
+                new BookingDecisionDto(approved.getId(), false),
+                new BookingDecisionDto(waiting.getId(), false),
+                new BookingDecisionDto(999L, true)));
+
+        assertEquals(BookingStatus.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getBooking().getStatus());
+        assertNotNull(results.get(2).getError());
+        assertNotNull(results.get(3).getError());
+        assertNotNull(results.get(4).getError());
+        assertEquals(BookingStatus.APPROVED, em.find(Booking.class, waiting.getId()).getStatus());
+        assertEquals(BookingStatus.REJECTED, em.find(Booking.class, toReject.getId()).getStatus());
+        assertEquals(BookingStatus.APPROVED, em.find(Booking.class, approved.getId()).getStatus());
+        assertEquals("Нельзя сменить статус бронирования чужой вещи.", service.approveBookings(user2.getId(),
+                List.of(new BookingDecisionDto(toReject.getId(), true))).get(0).getError());
+    }
+
+    @Test
+    void shouldReapproveRejectedBookingsInBatchTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking rejected = Booking.builder()
+                .start(start)
+                .end(start.plusHours(1))
+                .status(BookingStatus.REJECTED)
+                .booker(user2)
+                .item(item)
+                .build();
+        Booking approved = Booking.builder()
+                .start(start.plusHours(2))
+                .end(start.plusHours(3))
+                .status(BookingStatus.APPROVED)
+                .booker(user2)
+                .item(item)
+                .build();
+        Booking overlapping = Booking.builder()
+                .start(start.plusHours(2))
+                .end(start.plusHours(4))
+                .status(BookingStatus.REJECTED)
+                .booker(user2)
+                .item(item)
+                .build();
+        em.persist(rejected);
+        em.persist(approved);
+        em.persist(overlapping);
+        em.flush();
+
+        List<BookingBatchResultDto> results = service.approveBookings(user1.getId(), List.of(
+                new BookingDecisionDto(rejected.getId(), true),
+                new BookingDecisionDto(overlapping.getId(), true)));
+
+        assertEquals(BookingStatus.APPROVED, results.get(0).getBooking().getStatus());
+        assertNotNull(results.get(1).getError());
+        assertEquals(BookingStatus.APPROVED, em.find(Booking.class, rejected.getId()).getStatus());
+        assertEquals(BookingStatus.REJECTED, em.find(Booking.class, overlapping.getId()).getStatus());
+        assertFalse(availabilityEngine.isFree(item.getId(), start, start.plusHours(1)));
+    }
+
+    @Test
+    void shouldGetOwnerBookingsSummaryTest() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(Booking.builder().start(now.minusDays(3)).end(now.minusDays(2))
+                .status(BookingStatus.APPROVED).booker(user2).item(item).build());
+        em.persist(Booking.builder().start(now.minusDays(1)).end(now.plusDays(1))
+                .status(BookingStatus.APPROVED).booker(user2).item(item).build());
+        em.persist(Booking.builder().start(now.plusDays(2)).end(now.plusDays(3))
+                .status(BookingStatus.WAITING).booker(user2).item(item).build());
+        em.persist(Booking.builder().start(now.plusDays(4)).end(now.plusDays(5))
+                .status(BookingStatus.REJECTED).booker(user2).item(item).build());
+
+        Map<BookingState, Long> summary = service.getOwnerBookingsSummary(user1.getId());
+
+        assertEquals(Map.of(BookingState.ALL, 4L,
+                BookingState.CURRENT, 1L,
+                BookingState.PAST, 1L,
+                BookingState.FUTURE, 2L,
+                BookingState.WAITING, 1L,
+                BookingState.REJECTED, 1L), summary);
+        assertEquals(0L, service.getOwnerBookingsSummary(user2.getId()).get(BookingState.ALL));
+        assertEquals(0L, service.getOwnerBookingsSummary(user2.getId()).get(BookingState.WAITING));
+    }
+
     @Test
     void shouldApproveBookingWhenBookingIdIsNotInDbTest() {
         Long idIsNotInDb = 22L;
@@ -294,7 +475,7 @@ class BookingServiceImplIntegrationTest {
 
         List<ResponseBookingDto> bookings = service.getUserBookings(user2.getId(), "WAITING", null);
         TypedQuery<Booking> query = em.createQuery("SELECT bk from Booking bk " +
-                "where bk.booker.id = :id and bk.status = :status", Booking.class);
+                "where bk.booker.id = :id and bk.status = :status order by bk.id", Booking.class);
         List<Booking> bookingInBase = query
                 .setParameter("id", user2.getId())
                 .setParameter("status", BookingStatus.WAITING)
@@ -412,7 +593,7 @@ class BookingServiceImplIntegrationTest {
 
         List<ResponseBookingDto> bookings = service.getUserBookings(user2.getId(), "REJECTED", null);
         TypedQuery<Booking> query = em.createQuery("SELECT bk from Booking bk " +
-                "where bk.booker.id = :id and bk.status = :status", Booking.class);
+                "where bk.booker.id = :id and bk.status = :status order by bk.id", Booking.class);
         List<Booking> bookingBase = query
                 .setParameter("id", user2.getId())
                 .setParameter("status", BookingStatus.REJECTED)
@@ -691,7 +872,7 @@ class BookingServiceImplIntegrationTest {
         List<ResponseBookingDto> bookings = service
                 .getUserBookings(user2.getId(), "REJECTED", PageRequest.of(0, 10));
         TypedQuery<Booking> query = em.createQuery("SELECT bk from Booking bk " +
-                "where bk.booker.id = :id and bk.status = :status", Booking.class);
+                "where bk.booker.id = :id and bk.status = :status order by bk.id", Booking.class);
         List<Booking> bookingBase = query
                 .setParameter("id", user2.getId())
                 .setParameter("status", BookingStatus.REJECTED)
@@ -837,7 +1018,7 @@ class BookingServiceImplIntegrationTest {
 
         List<ResponseBookingDto> bookings = service.getOwnerBookings(user1.getId(), "WAITING", null);
         TypedQuery<Booking> query = em.createQuery("SELECT bk from Booking bk " +
-                "where bk.booker.id = :id and bk.status = :status", Booking.class);
+                "where bk.booker.id = :id and bk.status = :status order by bk.id", Booking.class);
         List<Booking> bookingBase = query
                 .setParameter("id", user2.getId())
                 .setParameter("status", BookingStatus.WAITING)
@@ -971,7 +1152,7 @@ class BookingServiceImplIntegrationTest {
         List<ResponseBookingDto> bookings = service
                 .getOwnerBookings(user1.getId(), "REJECTED", null);
         TypedQuery<Booking> query = em.createQuery("SELECT bk from Booking bk " +
-                "where bk.booker.id = :id and bk.status = :status", Booking.class);
+                "where bk.booker.id = :id and bk.status = :status order by bk.id", Booking.class);
         List<Booking> bookingBase = query
                 .setParameter("id", user2.getId())
                 .setParameter("status", BookingStatus.REJECTED)
@@ -1200,7 +1381,7 @@ class BookingServiceImplIntegrationTest {
         List<ResponseBookingDto> bookings = service
                 .getOwnerBookings(user1.getId(), "REJECTED", PageRequest.of(0, 10));
         TypedQuery<Booking> query = em.createQuery("SELECT bk from Booking bk " +
-                "where bk.booker.id = :id and bk.status = :status", Booking.class);
+                "where bk.booker.id = :id and bk.status = :status order by bk.id", Booking.class);
         List<Booking> bookingBase = query
                 .setParameter("id", user2.getId())
                 .setParameter("status", BookingStatus.REJECTED)
@@ -1325,4 +1506,55 @@ class BookingServiceImplIntegrationTest {
         assertEquals(bookings.get(0).getBooker().getId(), bookingBase.get(0).getBooker().getId());
         assertEquals(bookings.get(0).getItem().getId(), bookingBase.get(0).getItem().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPageByCursorAsByOffsetTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < 25; i++) {
+            // Каждые два бронирования начинаются одновременно, порядок между ними задает id
+            LocalDateTime start = now.plusHours(i / 2 * 3L - 20);
+            em.persist(Booking.builder()
+                    .start(start)
+                    .end(start.plusHours(2))
+                    .item(item)
+                    .booker(user2)
+                    .status(statuses[i % statuses.length])
+                    .build());
+        }
+        em.flush();
+
+        int size = 4;
+        for (BookingState state : BookingState.values()) {
+            List<Long> byOffset = new ArrayList<>();
+            List<Long> byCursor = new ArrayList<>();
+            List<ResponseBookingDto> page;
+            int from = 0;
+            do {
+                page = service.getOwnerBookings(user1.getId(), state.name(), PageRequest.of(from / size, size));
+                page.forEach(booking -> byOffset.add(booking.getId()));
+                from += size;
+            } while (page.size() == size);
+
+            String after = "";
+            do {
+                CursorPage<ResponseBookingDto> cursorPage = service.getOwnerBookings(user1.getId(), state.name(),
+                        after, size);
+                page = cursorPage.getContent();
+                page.forEach(booking -> byCursor.add(booking.getId()));
+                after = cursorPage.getNextCursor();
+            } while (after != null);
+
+            assertEquals(byOffset, byCursor, state.name());
+            assertEquals(byOffset, service.getUserBookings(user2.getId(), state.name(), "", 100).getContent().stream()
+                    .map(ResponseBookingDto::getId)
+                    .collect(Collectors.toList()), state.name());
+        }
+    }
+
+    @Test
+    void shouldGetUserBookingsWhenCursorIsInvalidTest() {
+        assertThrows(BadRequestException.class,
+                () -> service.getUserBookings(user2.getId(), "ALL", Cursor.encode("yesterday", 1), 10));
+    }
+}
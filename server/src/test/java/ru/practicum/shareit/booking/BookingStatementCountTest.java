@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Каждый список бронирований и бронирование по ID загружаются одним SQL-запросом вместе с вещами, владельцами
+ * и пользователями: после отображения в DTO дополнительных запросов нет.
+ */
+@SpringBootTest(properties = SqlStatementCaptor.PROPERTY)
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStatementCountTest {
+    private static final int OWNERS = 3;
+    private static final int BOOKERS = 5;
+
+    private final EntityManager em;
+
+    private final BookingService bookingService;
+
+    private final List<User> owners = new ArrayList<>();
+
+    private final List<User> bookers = new ArrayList<>();
+
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            User owner = user("owner" + i);
+            owners.add(owner);
+            for (int j = 0; j < 2; j++) {
+                Item item = new Item();
+                item.setName("item" + i + j);
+                item.setDescription("description");
+                item.setOwner(owner);
+                item.setAvailable(true);
+                em.persist(item);
+                items.add(item);
+            }
+        }
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(user("booker" + i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < 60; i++) {
+            LocalDateTime start = now.plusHours(i * 2L - 60);
+            Booking booking = Booking.builder()
+                    .start(start)
+                    .end(start.plusHours(i % 3 == 0 ? 3 : 1))
+                    .item(items.get(i % items.size()))
+                    .booker(bookers.get(i % BOOKERS))
+                    .status(statuses[i % statuses.length])
+                    .build();
+            em.persist(booking);
+            bookingId = booking.getId();
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void shouldLoadBookingListsWithOneStatementTest() {
+        for (BookingState state : BookingState.values()) {
+            for (User booker : bookers) {
+                assertStatements(state, () -> bookingService.getUserBookings(booker.getId(), state.name(),
+                        PageRequest.of(0, 50)));
+            }
+            for (User owner : owners) {
+                assertStatements(state, () -> bookingService.getOwnerBookings(owner.getId(), state.name(),
+                        PageRequest.of(0, 50)));
+            }
+        }
+    }
+
+    @Test
+    void shouldLoadBookingWithOneStatementTest() {
+        List<String> statements = SqlStatementCaptor.capture(() -> {
+            ResponseBookingDto booking = bookingService.getBooking(bookers.get(4).getId(), bookingId);
+            assertEquals(bookingId, booking.getId());
+        });
+
+        assertEquals(1, statements.size(), statements.toString());
+    }
+
+    private void assertStatements(BookingState state, Supplier<List<ResponseBookingDto>> call) {
+        List<ResponseBookingDto> bookings = new ArrayList<>();
+        List<String> statements = SqlStatementCaptor.capture(() -> bookings.addAll(call.get()));
+        em.clear();
+
+        if (state == BookingState.ALL) {
+            assertFalse(bookings.isEmpty());
+        }
+        // Для пустого списка дополнительно проверяется существование пользователя
+        assertEquals(bookings.isEmpty() ? 2 : 1, statements.size(), state + ": " + statements);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@email.ru");
+        em.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.availability.ItemSchedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemScheduleTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private ItemSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new ItemSchedule(List.of());
+        schedule.add(1L, day(1), day(3));
+        schedule.add(2L, day(5), day(6));
+    }
+
+    @Test
+    void shouldFindOverlapsTest() {
+        assertTrue(schedule.overlaps(day(2), day(4)));
+        assertTrue(schedule.overlaps(day(0), day(10)));
+        assertTrue(schedule.overlaps(day(5), day(6)));
+        assertFalse(schedule.overlaps(day(3), day(5)));
+        assertFalse(schedule.overlaps(day(0), day(1)));
+        assertFalse(schedule.overlaps(day(6), day(7)));
+    }
+
+    @Test
+    void shouldMergeOverlappingBookingsIntoOneBlockTest() {
+        schedule.add(3L, day(2), day(5).plusHours(12));
+
+        assertEquals(3, schedule.size());
+        assertEquals(1, schedule.getBlocks().size());
+        assertTrue(schedule.overlaps(day(3), day(4)));
+    }
+
+    @Test
+    void shouldFreePeriodAfterRemoveTest() {
+        schedule.add(3L, day(2), day(4));
+
+        assertTrue(schedule.remove(1L));
+        assertTrue(schedule.overlaps(day(3), day(4)));
+        assertFalse(schedule.overlaps(day(1), day(2)));
+
+        assertTrue(schedule.remove(3L));
+        assertFalse(schedule.remove(3L));
+        assertFalse(schedule.overlaps(day(0), day(5)));
+        assertEquals(1, schedule.size());
+    }
+
+    @Test
+    void shouldFindFreeSlotsInRangeTest() {
+        schedule.add(3L, day(8), day(9));
+
+        List<ItemSchedule.FreeSlot> slots = schedule.freeSlots(day(2), day(10));
+
+        assertEquals(3, slots.size());
+        assertEquals(day(3), slots.get(0).getStart());
+        assertEquals(day(5), slots.get(0).getEnd());
+        assertEquals(day(6), slots.get(1).getStart());
+        assertEquals(day(8), slots.get(1).getEnd());
+        assertEquals(day(9), slots.get(2).getStart());
+        assertEquals(day(10), slots.get(2).getEnd());
+        assertTrue(schedule.freeSlots(day(1), day(3)).isEmpty());
+        assertEquals(1, schedule.freeSlots(day(3), day(5)).size());
+    }
+
+    private static LocalDateTime day(int day) {
+        return BASE.plusDays(day);
+    }
+}
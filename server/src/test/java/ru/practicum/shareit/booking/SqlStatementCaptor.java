@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Перехват SQL, который Hibernate выполняет в текущем потоке. Подключается свойством
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector, запросы других потоков
+ * (например, планировщика) не учитываются.
+ */
+public class SqlStatementCaptor implements StatementInspector {
+    static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+            "ru.practicum.shareit.booking.SqlStatementCaptor";
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    static List<String> capture(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -2,7 +2,6 @@ package ru.practicum.shareit.data;
 
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import static ru.practicum.shareit.data.UserAndUserDtoData.user1;
 import static ru.practicum.shareit.data.UserAndUserDtoData.user2;
@@ -32,7 +31,7 @@ public class ItemAndItemDtoData {
      * <p>name = item1
      * <p>description = item1Description
      * <p>available = true
-     * <P>owner = new {@link User}
+     * <P>ownerId = null
      * <P>requestId = O
      */
     public static ItemDto itemDto1 = ItemDto
@@ -41,7 +40,7 @@ public class ItemAndItemDtoData {
             .name("itemDto1")
             .description("itemDto1Description")
             .available(true)
-            .owner(new User())
+            .ownerId(null)
             .requestId(0L)
             .build();
 
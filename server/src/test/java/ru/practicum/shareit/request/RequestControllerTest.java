@@ -9,6 +9,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
@@ -93,4 +94,20 @@ public class RequestControllerTest {
                 .andExpect(jsonPath("$.id").value(requestDto.getId()))
                 .andExpect(jsonPath("$.description").value(requestDto.getDescription()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestsAfterCursorTest() throws Exception {
+        RequestDto requestDto = RequestDto.builder()
+                .id(1L)
+                .description("description")
+                .build();
+        when(service.getAllRequests(1L, "cursor", 10)).thenReturn(new CursorPage<>(List.of(requestDto), "next"));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(requestDto))));
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.request.feed.RequestFeed;
+import ru.practicum.shareit.request.feed.RequestFeedEntry;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestFeedTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+    @Mock
+    private RequestRepository requestRepository;
+
+    private RequestFeed requestFeed;
+
+    private final RequestFeedEntry entry1 = entry(1L, 1L, 3);
+    private final RequestFeedEntry entry2 = entry(2L, 2L, 2);
+    private final RequestFeedEntry entry3 = entry(3L, 1L, 1);
+
+    @BeforeEach
+    void setUp() {
+        requestFeed = new RequestFeed(requestRepository, 3);
+    }
+
+    @Test
+    void shouldGetPageFromBufferWithoutOwnRequestsTest() {
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry3, entry2, entry1));
+
+        assertEquals(List.of(entry3, entry1), requestFeed.getPage(2L, PageRequest.of(0, 2)));
+        assertEquals(List.of(entry1), requestFeed.getPage(2L, PageRequest.of(1, 1)));
+
+        verify(requestRepository, times(1)).findNewest(any());
+        verify(requestRepository, never()).findFeedAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReadDeepPageFromDbAfterBufferTest() {
+        RequestFeedEntry entry0 = entry(10L, 1L, 4);
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry3, entry2, entry1));
+        when(requestRepository.findFeedAfter(2L, entry1.getCreated(), entry1.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(entry0));
+
+        assertEquals(List.of(entry0), requestFeed.getPage(2L, PageRequest.of(1, 2)));
+    }
+
+    @Test
+    void shouldNotReadDbWhenBufferHasAllRequestsTest() {
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry2, entry1));
+
+        assertEquals(List.of(), requestFeed.getPage(2L, PageRequest.of(1, 2)));
+
+        verify(requestRepository, never()).findFeedAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldGetPageAfterCursorTest() {
+        RequestFeedEntry entry0 = entry(10L, 1L, 4);
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry3, entry2, entry1));
+        when(requestRepository.findFeedAfter(1L, entry0.getCreated(), entry0.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(entry2), requestFeed.getPageAfter(1L, entry3.getCreated(), entry3.getId(), 1));
+        assertEquals(List.of(entry2, entry1), requestFeed.getPageAfter(3L, entry3.getCreated(), entry3.getId(), 2));
+        assertEquals(List.of(), requestFeed.getPageAfter(1L, entry0.getCreated(), entry0.getId(), 2));
+    }
+
+    @Test
+    void shouldAddNewestRequestAndEvictOldestTest() {
+        RequestFeedEntry entry4 = entry(4L, 1L, 0);
+        RequestFeedEntry entry0 = entry(10L, 1L, 4);
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry2, entry1));
+        when(requestRepository.findFeedAfter(2L, entry2.getCreated(), entry2.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(entry1));
+        requestFeed.getPage(2L, PageRequest.of(0, 1));
+
+        requestFeed.add(entry3);
+        requestFeed.add(entry4);
+        requestFeed.add(entry0);
+
+        assertEquals(List.of(entry4, entry3), requestFeed.getPage(2L, PageRequest.of(0, 2)));
+        assertEquals(List.of(entry1), requestFeed.getPage(2L, PageRequest.of(2, 1)));
+    }
+
+    @Test
+    void shouldRemoveRequesterRequestsTest() {
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry3, entry2, entry1));
+        requestFeed.getPage(2L, PageRequest.of(0, 1));
+
+        requestFeed.onUserDeleted(new UserDeletedEvent(1L, List.of()));
+
+        assertEquals(List.of(entry2), requestFeed.getPage(3L, PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void shouldReloadRequestsAddedByOtherInstancesTest() {
+        RequestFeedEntry entry4 = entry(4L, 1L, 0);
+        when(requestRepository.findNewest(PageRequest.of(0, 3)))
+                .thenReturn(List.of(entry3, entry2, entry1))
+                .thenReturn(List.of(entry4, entry3, entry2));
+        assertEquals(List.of(entry3, entry1), requestFeed.getPage(2L, PageRequest.of(0, 2)));
+
+        requestFeed.reload();
+
+        assertEquals(List.of(entry4, entry3), requestFeed.getPage(2L, PageRequest.of(0, 2)));
+        verify(requestRepository, times(2)).findNewest(any());
+    }
+
+    @Test
+    void shouldNotAddRequestReadByLoadTwiceTest() {
+        when(requestRepository.findNewest(PageRequest.of(0, 3))).thenReturn(List.of(entry3, entry2, entry1));
+        requestFeed.getPage(2L, PageRequest.of(0, 1));
+
+        requestFeed.add(entry3);
+        requestFeed.add(entry2);
+
+        assertEquals(List.of(entry3, entry2, entry1), requestFeed.getPage(4L, PageRequest.of(0, 3)));
+    }
+
+    private static RequestFeedEntry entry(Long id, Long requesterId, int minutesAgo) {
+        return new RequestFeedEntry(id, requesterId, "description" + id, NOW.minusMinutes(minutesAgo));
+    }
+}
@@ -9,7 +9,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
@@ -17,12 +19,18 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-@SpringBootTest
+// Запросы тестов не фиксируются, а буфер ленты содержит только зафиксированные запросы
+@SpringBootTest(properties = "shareit.requests.feed.capacity=0")
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class RequestServiceImplIntegrationTest {
@@ -139,8 +147,10 @@ class RequestServiceImplIntegrationTest {
         em.persist(request1);
 
         List<RequestDto> requests = requestService.getAllRequests(user2.getId(), null);
+        // Сравнение с записями в БД: дата создания хранится с точностью до микросекунд
+        em.clear();
         TypedQuery<Request> query =
-                em.createQuery("SELECT rt from Request rt ", Request.class);
+                em.createQuery("SELECT rt from Request rt order by rt.created desc, rt.id desc", Request.class);
         List<Request> requestsBase = query.getResultList();
 
         assertEquals(requests.size(), 2);
@@ -170,9 +180,12 @@ class RequestServiceImplIntegrationTest {
 
         List<RequestDto> requests = requestService
                 .getAllRequests(user2.getId(), PageRequest.of(0, 1));
+        // Сравнение с записями в БД: дата создания хранится с точностью до микросекунд
+        em.clear();
         TypedQuery<Request> query =
                 em.createQuery("SELECT rt from Request rt where rt.id = :id", Request.class);
-        List<Request> requestsBase = query.setParameter("id", request.getId()).getResultList();
+        // Лента запросов идет от новых к старым
+        List<Request> requestsBase = query.setParameter("id", request1.getId()).getResultList();
 
         assertEquals(requests.size(), 1);
         assertEquals(requests.get(0).getDescription(), requestsBase.get(0).getDescription());
@@ -256,4 +269,64 @@ class RequestServiceImplIntegrationTest {
                 assertThrows(NotFoundException.class, () -> requestService.getRequestById(user1.getId(), 15L));
         assertEquals(a.getMessage(), "Запрос с ID = 15 не найден.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetUserRequestsWithTheirItemsTest() {
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Request request = Request.builder()
+                    .requester(user1)
+                    .created(LocalDateTime.now().minusHours(i))
+                    .description("description" + i)
+                    .build();
+            em.persist(request);
+            requests.add(request);
+        }
+        // На первый запрос две вещи, на второй одна, на третий ни одной
+        for (int i = 0; i < 3; i++) {
+            em.persist(Item.builder()
+                    .name("item" + i)
+                    .description("description")
+                    .requestId(requests.get(i / 2).getId())
+                    .available(true)
+                    .owner(user2)
+                    .build());
+        }
+
+        Map<Long, List<String>> items = requestService.getUserRequests(user1.getId(), null).stream()
+                .collect(Collectors.toMap(RequestDto::getId, request -> request.getItems().stream()
+                        .map(ItemDto::getName)
+                        .collect(Collectors.toList())));
+
+        assertEquals(List.of("item0", "item1"), items.get(requests.get(0).getId()));
+        assertEquals(List.of("item2"), items.get(requests.get(1).getId()));
+        assertEquals(List.of(), items.get(requests.get(2).getId()));
+    }
+
+    @Test
+    void shouldGetAllRequestsAfterCursorTest() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Request request = Request.builder()
+                    .requester(user1)
+                    .created(now.minusHours(i))
+                    .description("description" + i)
+                    .build();
+            em.persist(request);
+            ids.add(request.getId());
+        }
+        em.persist(Request.builder()
+                .requester(user2)
+                .created(now)
+                .description("own")
+                .build());
+
+        CursorPage<RequestDto> first = requestService.getAllRequests(user2.getId(), "", 2);
+        CursorPage<RequestDto> second = requestService.getAllRequests(user2.getId(), first.getNextCursor(), 2);
+
+        assertEquals(ids.subList(0, 2), first.getContent().stream().map(RequestDto::getId).collect(Collectors.toList()));
+        assertEquals(ids.subList(2, 3), second.getContent().stream().map(RequestDto::getId).collect(Collectors.toList()));
+        assertNull(second.getNextCursor());
+    }
+}
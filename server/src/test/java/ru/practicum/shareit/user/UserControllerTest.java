@@ -10,13 +10,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,6 +50,48 @@ class UserControllerTest {
                 .getAll(PageRequest.ofSize(10));
     }
 
+    @Test
+    void shouldExportAllAsNdjsonTest() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(userDto1);
+            consumer.accept(userDto1);
+            return null;
+        }).when(userService).exportAll(any());
+
+        MvcResult result = mvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = mapper.writeValueAsString(userDto1);
+        mvc.perform(asyncDispatch(result))
+                .andExpectAll(status().isOk(),
+                        content().contentType(MediaType.APPLICATION_NDJSON),
+                        content().string(line + "\n" + line + "\n"));
+    }
+
+    @Test
+    void shouldImportUsersTest() throws Exception {
+        UserImportResultDto result = new UserImportResultDto(1L, 1L, 0L, List.of());
+        when(userService.importUsers(any(), any())).thenReturn(result);
+
+        mvc.perform(post("/users/import")
+                        .contentType("text/csv")
+                        .content("name,email\nname,name@email.ru\n"))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void shouldNotImportUsersFromJsonTest() throws Exception {
+        mvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(userService, never()).importUsers(any(), any());
+    }
+
     @Test
     void shouldGetAllWhenRequestParamFromIsWrongTest() throws Exception {
         mvc.perform(get("/users&from=-1"))
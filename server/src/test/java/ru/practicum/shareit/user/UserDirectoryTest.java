@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.data.UserAndUserDtoData.user1;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory = new UserDirectory(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldLoadUserOnceTest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+
+        User user = userDirectory.getUserById(1L).orElseThrow();
+        userDirectory.getUserById(1L);
+
+        assertEquals(user1, user);
+        assertNotSame(user1, user);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldNotCacheMissingUserTest() {
+        when(userRepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertTrue(userDirectory.getUserById(3L).isEmpty());
+        assertTrue(userDirectory.getUserById(3L).isEmpty());
+
+        verify(userRepository, times(2)).findById(3L);
+    }
+
+    @Test
+    void shouldReloadEvictedUserTest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        userDirectory.getUserById(1L);
+
+        userDirectory.evict(1L);
+        userDirectory.getUserById(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldForgetUserLoadedInRolledBackTransactionTest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDirectory.getUserById(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization
+                            .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        userDirectory.getUserById(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+}
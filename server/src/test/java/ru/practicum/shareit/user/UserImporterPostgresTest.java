@@ -0,0 +1,140 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportConflictDto;
+import ru.practicum.shareit.user.dto.UserImportConflictReason;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Импорт пользователей в PostgreSQL: загрузка командой COPY и перенос строк с ON CONFLICT.
+ * Без Docker тесты пропускаются.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserImporterPostgresTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private final UserService userService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.sql.init.platform", () -> "postgresql");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void shouldCreateUnloggedImportTableTest() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT relpersistence FROM pg_class WHERE relname = 'users_import'", String.class), equalTo("u"));
+    }
+
+    @Test
+    void importUsersFromCsvTest() {
+        UserDto existing = userService.add(UserDto.builder().name("existing").email("existing@email.ru").build());
+        String csv = "name,email\n"
+                + "\"Smith, John\",import1@email.ru\n"
+                + "name," + existing.getEmail() + "\n"
+                + "again,import1@email.ru\n"
+                + "name,not-an-email\n";
+
+        UserImportResultDto result = importCsv(csv);
+
+        assertThat(result.getTotal(), equalTo(4L));
+        assertThat(result.getImported(), equalTo(1L));
+        assertThat(result.getRejected(), equalTo(3L));
+        assertThat(result.getConflicts(), equalTo(List.of(
+                new UserImportConflictDto(3L, existing.getEmail(), UserImportConflictReason.EXISTS),
+                new UserImportConflictDto(4L, "import1@email.ru", UserImportConflictReason.DUPLICATE),
+                new UserImportConflictDto(5L, "not-an-email", UserImportConflictReason.INVALID))));
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM users WHERE email = 'import1@email.ru'",
+                String.class), equalTo("Smith, John"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users_import", Long.class), equalTo(0L));
+    }
+
+    /**
+     * E-mail, который параллельная транзакция добавила после проверки существующих пользователей,
+     * отклоняется как EXISTS, остальные строки импортируются.
+     */
+    @Test
+    void shouldRejectEmailAddedByConcurrentTransactionTest() throws Exception {
+        String csv = "name,email\n"
+                + "first,race1@email.ru\n"
+                + "second,race2@email.ru\n";
+
+        try (Connection concurrent = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword())) {
+            concurrent.setAutoCommit(false);
+            try (PreparedStatement statement = concurrent.prepareStatement(
+                    "INSERT INTO users (name, email) VALUES ('concurrent', 'race2@email.ru')")) {
+                statement.executeUpdate();
+            }
+
+            CompletableFuture<UserImportResultDto> future = CompletableFuture.supplyAsync(() -> importCsv(csv));
+            awaitLockWait();
+            concurrent.commit();
+
+            UserImportResultDto result = future.get(10, TimeUnit.SECONDS);
+            assertThat(result.getImported(), equalTo(1L));
+            assertThat(result.getConflicts(), equalTo(List.of(
+                    new UserImportConflictDto(3L, "race2@email.ru", UserImportConflictReason.EXISTS))));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM users WHERE email = 'race2@email.ru'",
+                String.class), equalTo("concurrent"));
+    }
+
+    private UserImportResultDto importCsv(String csv) {
+        return userService.importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                MediaType.parseMediaType("text/csv"));
+    }
+
+    /**
+     * Ожидание, пока импорт не встанет на блокировке строки, вставленной незафиксированной транзакцией.
+     */
+    private void awaitLockWait() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Long waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Long.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Импорт не ждет параллельную транзакцию");
+    }
+}
@@ -5,12 +5,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportConflictDto;
+import ru.practicum.shareit.user.dto.UserImportConflictReason;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -63,6 +70,27 @@ public class UserServiceImplIntegrationTest {
         assertThat(users.get(1).getName(), equalTo(userDto4.getName()));
     }
 
+    @Test
+    void getAllUsersPageTest() {
+        userService.add(userDto3);
+        userService.add(userDto4);
+        List<UserDto> users = userService.getAll(PageRequest.of(1, 1));
+
+        assertThat(users, hasSize(1));
+        assertThat(users.get(0).getName(), equalTo(userDto4.getName()));
+    }
+
+    @Test
+    void exportAllUsersTest() {
+        UserDto user3 = userService.add(userDto3);
+        UserDto user4 = userService.add(userDto4);
+        List<UserDto> users = new ArrayList<>();
+
+        userService.exportAll(users::add);
+
+        assertThat(users, equalTo(List.of(user3, user4)));
+    }
+
     @Test
     void updateUserNameTest() {
         UserDto oldUser = userService.add(userDto1);
@@ -92,4 +120,51 @@ public class UserServiceImplIntegrationTest {
         User user = entityManager.find(User.class, createdUser.getId());
         assertThat(user, nullValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importUsersFromCsvTest() {
+        UserDto existing = userService.add(userDto3);
+        String csv = "email,name\r\n"
+                + "import1@email.ru,\"Smith, John\"\r\n"
+                + "\r\n"
+                + existing.getEmail() + ",name\r\n"
+                + "import1@email.ru,again\r\n"
+                + "not-an-email,name\r\n"
+                + "\"import2@email.ru\",\"Say \"\"hi\"\"\"\r\n";
+
+        UserImportResultDto result = userService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MediaType.parseMediaType("text/csv"));
+
+        assertThat(result.getTotal(), equalTo(5L));
+        assertThat(result.getImported(), equalTo(2L));
+        assertThat(result.getRejected(), equalTo(3L));
+        assertThat(result.getConflicts(), equalTo(List.of(
+                new UserImportConflictDto(4L, existing.getEmail(), UserImportConflictReason.EXISTS),
+                new UserImportConflictDto(5L, "import1@email.ru", UserImportConflictReason.DUPLICATE),
+                new UserImportConflictDto(6L, "not-an-email", UserImportConflictReason.INVALID))));
+        List<User> imported = entityManager.createQuery(
+                        "select u from User u where u.email like 'import%' order by u.id", User.class)
+                .getResultList();
+        assertThat(imported, hasSize(2));
+        assertThat(imported.get(0).getName(), equalTo("Smith, John"));
+        assertThat(imported.get(1).getName(), equalTo("Say \"hi\""));
+    }
+
+    @Test
+    void importUsersFromNdjsonTest() {
+        String ndjson = "{\"name\":\"import3\",\"email\":\"import3@email.ru\"}\n"
+                + "not json\n"
+                + "{\"name\":\"import4\"}\n";
+
+        UserImportResultDto result = userService.importUsers(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), MediaType.APPLICATION_NDJSON);
+
+        assertThat(result.getTotal(), equalTo(3L));
+        assertThat(result.getImported(), equalTo(1L));
+        assertThat(result.getConflicts(), equalTo(List.of(
+                new UserImportConflictDto(2L, null, UserImportConflictReason.INVALID),
+                new UserImportConflictDto(3L, null, UserImportConflictReason.INVALID))));
+        assertThat(entityManager.createQuery("select count(u) from User u where u.email = 'import3@email.ru'")
+                .getSingleResult(), equalTo(1L));
+    }
+}
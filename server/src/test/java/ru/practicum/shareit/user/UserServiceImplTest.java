@@ -2,10 +2,14 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -24,9 +28,21 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemCache itemCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserDirectory userDirectory;
+
     @Test
     void getAllUsers() {
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        when(userRepository.findAllByOrderByIdAsc(PageRequest.of(0, 10))).thenReturn(List.of(user1, user2));
 
         List<UserDto> result = userService.getAll(PageRequest.of(0, 10));
 
@@ -34,7 +50,7 @@ class UserServiceImplTest {
         assertEquals(user2.getId(), result.get(1).getId());
         assertEquals(result.size(), 2);
 
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllByOrderByIdAsc(PageRequest.of(0, 10));
     }
 
     @Test
@@ -70,6 +86,7 @@ class UserServiceImplTest {
         assertEquals(result.getEmail(), "name@email.ru");
 
         verify(userRepository, times(1)).save(any());
+        verify(userDirectory, times(1)).evict(userNameUpdate.getId());
     }
 
     @Test
@@ -87,9 +104,14 @@ class UserServiceImplTest {
     @Test
     void shouldDeleteUserTest() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findIdsByOwnerId(1L)).thenReturn(List.of(1L, 2L));
 
         userService.delete(1L);
 
+        ArgumentCaptor<UserDeletedEvent> event = ArgumentCaptor.forClass(UserDeletedEvent.class);
         verify(userRepository, times(1)).deleteById(anyLong());
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getUserId());
+        assertEquals(List.of(1L, 2L), event.getValue().getItemIds());
     }
 }
\ No newline at end of file